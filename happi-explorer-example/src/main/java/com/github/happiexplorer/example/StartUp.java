@@ -8,6 +8,7 @@ import com.github.happiexplorer.example.customer.CustomerMapper;
 import com.github.happiexplorer.example.gender.GenderDTO;
 import com.github.happiexplorer.example.gender.GenderEntity;
 import com.github.happiexplorer.example.gender.GenderMapper;
+import com.github.happiexplorer.example.persistence.AbstractEntity;
 import com.github.happiexplorer.example.security.Roles;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.Initialized;
@@ -16,6 +17,7 @@ import jakarta.inject.Inject;
 
 import com.github.happiexplorer.Action;
 import com.github.happiexplorer.DynamicEntry;
+import com.github.happiexplorer.EntityMappers;
 import com.github.happiexplorer.ExplorerManager;
 import com.github.happiexplorer.example.endpoint.WebConfiguration;
 import com.github.happiexplorer.security.HappiSecurityManager;
@@ -43,6 +45,8 @@ public class StartUp {
         this.securityManager.putConfiguration(HappiSecurityManager.Configuration.TOKEN_CLAIM_USERNAME, "preferred_username");
         this.securityManager.putConfiguration(HappiSecurityManager.Configuration.TOKEN_CLAIM_GROUPS, "groups");
 
+        EntityMappers.registerIdConverter(AbstractEntity.class, EntityMappers.UUID_AS_STRING);
+
         this.explorerManager.register(new DynamicEntry<>(
                 "gender",
                 Map.of(
@@ -55,19 +59,22 @@ public class StartUp {
                 BasicExplorerService.class
         ));
 
-        this.explorerManager.register(new DynamicEntry<>(
-                "customer",
-                Map.of(
+        this.explorerManager.register(DynamicEntry.builder(
+                        "customer",
+                        CustomerEntity.class,
+                        CustomerDTO.class,
+                        CustomerMapper.class,
+                        BasicExplorerService.class
+                )
+                .actions(Map.of(
                         Action.FILTER, HappiSecurityManager.PERMIT_ALL,
                         Action.FIND, HappiSecurityManager.PERMIT_ALL,
                         Action.CREATE, Roles.CUSTOMER_MANAGER,
                         Action.UPDATE, Roles.CUSTOMER_MANAGER,
                         Action.DELETE, Roles.CUSTOMER_MANAGER
-                ),
-                CustomerEntity.class,
-                CustomerDTO.class,
-                CustomerMapper.class,
-                BasicExplorerService.class
-        ));
+                ))
+                .fetch("gender")
+                .selectable("id", "givenName", "familyName", "email", "phoneNumber")
+                .build());
     }
 }
@@ -0,0 +1,131 @@
+package com.github.happiexplorer;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cached handle for a <i>CDI</i> bean.
+ * A normal-scoped bean is reached through a client proxy which is safe to share,
+ * so the proxy is looked up once and reused.
+ * A {@code @Dependent} bean is looked up for each call.
+ *
+ * @param <T> Type of bean
+ */
+public final class BeanHandle<T> {
+
+    /**
+     * Bean type.
+     */
+    private final Class<T> type;
+
+    /**
+     * Programmatic lookup for this bean.
+     */
+    private final Instance<T> instance;
+
+    /**
+     * Indicates if the bean has a normal scope.
+     */
+    private final boolean cacheable;
+
+    /**
+     * Client proxy of a normal-scoped bean, {@code null} until the first lookup.
+     */
+    private volatile T proxy;
+
+    /**
+     * Number of calls served by the cached proxy.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of calls resolved by the bean manager.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Internal constructor.
+     * Use the factory method {@link BeanHandle#of(BeanManager, Instance, Class)}.
+     *
+     * @param type      Bean type
+     * @param instance  Programmatic lookup for this bean
+     * @param cacheable Indicates if the bean has a normal scope
+     */
+    private BeanHandle(final Class<T> type, final Instance<T> instance, final boolean cacheable) {
+        this.type = type;
+        this.instance = instance;
+        this.cacheable = cacheable;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Create a bean handle.
+     * The scope of the bean is resolved once with the bean manager.
+     *
+     * @param beanManager Bean manager
+     * @param instance    Programmatic lookup for this bean
+     * @param type        Bean type
+     * @param <T>         Type of bean
+     * @return A new bean handle
+     */
+    static <T> BeanHandle<T> of(final BeanManager beanManager, final Instance<T> instance, final Class<T> type) {
+        var bean = beanManager.resolve(beanManager.getBeans(type));
+        var cacheable = Objects.nonNull(bean) && beanManager.isNormalScope(bean.getScope());
+        return new BeanHandle<>(type, instance, cacheable);
+    }
+
+    /**
+     * Get the bean instance.
+     *
+     * @return Instance of bean
+     */
+    public T get() {
+        T bean;
+        if (this.cacheable) {
+            bean = this.proxy;
+            if (Objects.isNull(bean)) {
+                this.misses.increment();
+                bean = this.instance.get();
+                this.proxy = bean;
+            } else {
+                this.hits.increment();
+            }
+        } else {
+            this.misses.increment();
+            bean = this.instance.get();
+        }
+        return bean;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{type=").append(type)
+                .append(", cacheable=").append(cacheable)
+                .append(", hits=").append(hits)
+                .append(", misses=").append(misses)
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
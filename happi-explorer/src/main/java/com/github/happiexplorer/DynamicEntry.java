@@ -1,9 +1,17 @@
 package com.github.happiexplorer;
 
+import com.github.happiexplorer.persistence.FetchPlan;
 import com.github.happiexplorer.service.ExplorerService;
+import com.github.happiexplorer.service.ResultCache;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Dynamic entry point.
@@ -15,6 +23,11 @@ import java.util.Objects;
  */
 public final class DynamicEntry<E, D, M extends EntityMapper<E, D>, S extends ExplorerService> {
 
+    /**
+     * Default number of entities of a bulk chunk or an export fetch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
     /**
      * Path of entry point.
      * Must be unique and following URL path name convention.
@@ -48,6 +61,57 @@ public final class DynamicEntry<E, D, M extends EntityMapper<E, D>, S extends Ex
      */
     private final Class<S> serviceClass;
 
+    /**
+     * <i>Bean Validation</i> groups by action.
+     * An action without groups is validated with the default group.
+     */
+    private final Map<Action, List<Class<?>>> validationGroups;
+
+    /**
+     * Run the count query concurrently with the page query.
+     */
+    private final boolean concurrentCount;
+
+    /**
+     * Maximum number of compiled filter queries, no cache if zero.
+     */
+    private final int queryPlanCacheSize;
+
+    /**
+     * Maximum number of cached read results, no cache if zero.
+     */
+    private final int resultCacheSize;
+
+    /**
+     * Time to live of a cached read result.
+     */
+    private final Duration resultCacheTimeToLive;
+
+    /**
+     * Factory of a custom cache of read results, {@code null} for the local cache.
+     */
+    private final Supplier<? extends ResultCache> resultCacheFactory;
+
+    /**
+     * Number of entities of a bulk chunk or an export fetch, flushed or cleared together.
+     */
+    private final int batchSize;
+
+    /**
+     * Fetch plan of the filter, find and export actions.
+     */
+    private final FetchPlan fetchPlan;
+
+    /**
+     * Minimum number of entities for a parallel mapping, no parallel mapping if zero.
+     */
+    private final int parallelMappingThreshold;
+
+    /**
+     * Entity attributes names indexed by the selectable properties names of the data transfer object.
+     */
+    private final Map<String, String> selectableAttributes;
+
     /**
      * Construct a new entry point for controller explorer.
      *
@@ -72,6 +136,74 @@ public final class DynamicEntry<E, D, M extends EntityMapper<E, D>, S extends Ex
         this.dataClass = dataClass;
         this.mapperClass = mapperClass;
         this.serviceClass = serviceClass;
+        this.validationGroups = Map.of();
+        this.concurrentCount = false;
+        this.queryPlanCacheSize = 0;
+        this.resultCacheSize = 0;
+        this.resultCacheTimeToLive = Duration.ZERO;
+        this.resultCacheFactory = null;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.fetchPlan = FetchPlan.none();
+        this.parallelMappingThreshold = 0;
+        this.selectableAttributes = Map.of();
+    }
+
+    /**
+     * Construct a new entry point from a builder.
+     *
+     * @param builder Entry point builder
+     */
+    private DynamicEntry(final Builder<E, D, M, S> builder) {
+        this.path = builder.path;
+        this.actions = Map.copyOf(builder.actions);
+        this.entityClass = builder.entityClass;
+        this.dataClass = builder.dataClass;
+        this.mapperClass = builder.mapperClass;
+        this.serviceClass = builder.serviceClass;
+        this.validationGroups = Map.copyOf(builder.validationGroups);
+        this.concurrentCount = builder.concurrentCount;
+        this.queryPlanCacheSize = builder.queryPlanCacheSize;
+        this.resultCacheSize = builder.resultCacheSize;
+        this.resultCacheTimeToLive = builder.resultCacheTimeToLive;
+        this.resultCacheFactory = builder.resultCacheFactory;
+        this.batchSize = builder.batchSize;
+        this.fetchPlan = FetchPlan.of(builder.fetchGraph, builder.fetchAttributes);
+        this.parallelMappingThreshold = builder.parallelMappingThreshold;
+        this.selectableAttributes = Map.copyOf(builder.selectableAttributes);
+    }
+
+    /**
+     * Start a builder for an entry point with additional options.
+     *
+     * @param path         Path of entry point
+     * @param entityClass  Entity type
+     * @param dataClass    Data transfer object type
+     * @param mapperClass  Mapper type
+     * @param serviceClass Service type
+     * @param <E>          Type of persistent entity
+     * @param <D>          Type of data transfer object
+     * @param <M>          Type of mapper
+     * @param <S>          Type of service
+     * @return A new builder
+     */
+    public static <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> Builder<E, D, M, S> builder(
+            final String path,
+            final Class<E> entityClass,
+            final Class<D> dataClass,
+            final Class<M> mapperClass,
+            final Class<S> serviceClass) {
+
+        return new Builder<>(path, entityClass, dataClass, mapperClass, serviceClass);
+    }
+
+    /**
+     * Get the <i>Bean Validation</i> groups of an action.
+     *
+     * @param action Business action
+     * @return The validation groups, empty for the default group
+     */
+    public List<Class<?>> getValidationGroups(final Action action) {
+        return this.validationGroups.getOrDefault(action, List.of());
     }
 
     @Override
@@ -88,14 +220,24 @@ public final class DynamicEntry<E, D, M extends EntityMapper<E, D>, S extends Ex
                     && Objects.equals(entityClass, entry.entityClass)
                     && Objects.equals(dataClass, entry.dataClass)
                     && Objects.equals(mapperClass, entry.mapperClass)
-                    && Objects.equals(serviceClass, entry.serviceClass);
+                    && Objects.equals(serviceClass, entry.serviceClass)
+                    && Objects.equals(validationGroups, entry.validationGroups)
+                    && concurrentCount == entry.concurrentCount
+                    && queryPlanCacheSize == entry.queryPlanCacheSize
+                    && resultCacheSize == entry.resultCacheSize
+                    && Objects.equals(resultCacheTimeToLive, entry.resultCacheTimeToLive)
+                    && Objects.equals(resultCacheFactory, entry.resultCacheFactory)
+                    && batchSize == entry.batchSize
+                    && Objects.equals(fetchPlan, entry.fetchPlan)
+                    && parallelMappingThreshold == entry.parallelMappingThreshold
+                    && Objects.equals(selectableAttributes, entry.selectableAttributes);
         }
         return eq;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(path, actions, entityClass, dataClass, mapperClass, serviceClass);
+        return Objects.hash(path, actions, entityClass, dataClass, mapperClass, serviceClass, validationGroups, concurrentCount, queryPlanCacheSize, resultCacheSize, resultCacheTimeToLive, resultCacheFactory, batchSize, fetchPlan, parallelMappingThreshold, selectableAttributes);
     }
 
     @Override
@@ -116,7 +258,7 @@ public final class DynamicEntry<E, D, M extends EntityMapper<E, D>, S extends Ex
     }
 
     public Map<Action, String> getActions() {
-        return Map.copyOf(actions);
+        return actions;
     }
 
     public Class<E> getEntityClass() {
@@ -134,4 +276,362 @@ public final class DynamicEntry<E, D, M extends EntityMapper<E, D>, S extends Ex
     public Class<S> getServiceClass() {
         return serviceClass;
     }
+
+    public boolean isConcurrentCount() {
+        return concurrentCount;
+    }
+
+    public int getQueryPlanCacheSize() {
+        return queryPlanCacheSize;
+    }
+
+    public int getResultCacheSize() {
+        return resultCacheSize;
+    }
+
+    public Duration getResultCacheTimeToLive() {
+        return resultCacheTimeToLive;
+    }
+
+    public Supplier<? extends ResultCache> getResultCacheFactory() {
+        return resultCacheFactory;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public FetchPlan getFetchPlan() {
+        return fetchPlan;
+    }
+
+    public int getParallelMappingThreshold() {
+        return parallelMappingThreshold;
+    }
+
+    public Map<String, String> getSelectableAttributes() {
+        return selectableAttributes;
+    }
+
+    /**
+     * Builder for an entry point with additional options.
+     *
+     * @param <E> Type of persistent entity
+     * @param <D> Type of data transfer object
+     * @param <M> Type of mapper
+     * @param <S> Type of service
+     */
+    public static final class Builder<E, D, M extends EntityMapper<E, D>, S extends ExplorerService> {
+
+        /**
+         * Path of entry point.
+         */
+        private final String path;
+
+        /**
+         * Entity type.
+         */
+        private final Class<E> entityClass;
+
+        /**
+         * Data transfer object type.
+         */
+        private final Class<D> dataClass;
+
+        /**
+         * Mapper type.
+         */
+        private final Class<M> mapperClass;
+
+        /**
+         * Service type.
+         */
+        private final Class<S> serviceClass;
+
+        /**
+         * Actions with roles.
+         */
+        private final Map<Action, String> actions;
+
+        /**
+         * <i>Bean Validation</i> groups by action.
+         */
+        private final Map<Action, List<Class<?>>> validationGroups;
+
+        /**
+         * Run the count query concurrently with the page query.
+         */
+        private boolean concurrentCount;
+
+        /**
+         * Maximum number of compiled filter queries.
+         */
+        private int queryPlanCacheSize;
+
+        /**
+         * Maximum number of cached read results.
+         */
+        private int resultCacheSize;
+
+        /**
+         * Time to live of a cached read result.
+         */
+        private Duration resultCacheTimeToLive;
+
+        /**
+         * Factory of a custom cache of read results.
+         */
+        private Supplier<? extends ResultCache> resultCacheFactory;
+
+        /**
+         * Number of entities of a bulk chunk or an export fetch.
+         */
+        private int batchSize;
+
+        /**
+         * Name of the named entity graph to fetch.
+         */
+        private String fetchGraph;
+
+        /**
+         * Association attributes to fetch.
+         */
+        private final List<String> fetchAttributes;
+
+        /**
+         * Minimum number of entities for a parallel mapping.
+         */
+        private int parallelMappingThreshold;
+
+        /**
+         * Entity attributes names indexed by the selectable properties names.
+         */
+        private final Map<String, String> selectableAttributes;
+
+        /**
+         * Internal constructor.
+         * Use the factory method {@link DynamicEntry#builder(String, Class, Class, Class, Class)}.
+         *
+         * @param path         Path of entry point
+         * @param entityClass  Entity type
+         * @param dataClass    Data transfer object type
+         * @param mapperClass  Mapper type
+         * @param serviceClass Service type
+         */
+        private Builder(
+                final String path,
+                final Class<E> entityClass,
+                final Class<D> dataClass,
+                final Class<M> mapperClass,
+                final Class<S> serviceClass) {
+
+            this.path = path;
+            this.entityClass = entityClass;
+            this.dataClass = dataClass;
+            this.mapperClass = mapperClass;
+            this.serviceClass = serviceClass;
+            this.actions = new EnumMap<>(Action.class);
+            this.validationGroups = new EnumMap<>(Action.class);
+            this.resultCacheTimeToLive = Duration.ZERO;
+            this.batchSize = DEFAULT_BATCH_SIZE;
+            this.fetchAttributes = new ArrayList<>();
+            this.selectableAttributes = new HashMap<>();
+        }
+
+        /**
+         * Allow actions with roles.
+         *
+         * @param actions Actions with roles
+         * @return This builder
+         */
+        public Builder<E, D, M, S> actions(final Map<Action, String> actions) {
+            this.actions.putAll(actions);
+            return this;
+        }
+
+        /**
+         * Allow an action with a role.
+         *
+         * @param action Business action
+         * @param role   Role required
+         * @return This builder
+         */
+        public Builder<E, D, M, S> action(final Action action, final String role) {
+            this.actions.put(action, role);
+            return this;
+        }
+
+        /**
+         * Validate the data transfer object with specific groups for an action.
+         * Useful for validating only what a creation or an update needs.
+         *
+         * @param action Business action, {@link Action#CREATE} or {@link Action#UPDATE}
+         * @param groups <i>Bean Validation</i> groups
+         * @return This builder
+         */
+        public Builder<E, D, M, S> validationGroups(final Action action, final Class<?>... groups) {
+            this.validationGroups.put(action, List.of(groups));
+            return this;
+        }
+
+        /**
+         * Run the count query of the filter concurrently with the page query, with a separate entity manager.
+         * The latency of the filter is close to the slowest query instead of the sum,
+         * but a filter request can hold two database connections.
+         * The service filter function {@link ExplorerService#onFilter} must not depend on the request thread.
+         *
+         * @param concurrentCount The value {@code true} for running the count query concurrently
+         * @return This builder
+         */
+        public Builder<E, D, M, S> concurrentCount(final boolean concurrentCount) {
+            this.concurrentCount = concurrentCount;
+            return this;
+        }
+
+        /**
+         * Reuse the compiled filter queries of the same shape, only the values are bound per request.
+         * The least recently used query is evicted above the maximum size.
+         * The cache is refused when the service overrides the filter function {@link ExplorerService#onFilter},
+         * a compiled query would share a restriction depending on the caller between requests.
+         *
+         * @param maximumSize Maximum number of compiled queries, no cache if zero
+         * @return This builder
+         */
+        public Builder<E, D, M, S> queryPlanCache(final int maximumSize) {
+            this.queryPlanCacheSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Cache the results of filter and find actions in memory.
+         * The cache is created when the entry is registered,
+         * and invalidated when an entity of the same class, or of an association of the entity,
+         * is created, updated or deleted by a service.
+         * The service functions {@link ExplorerService#onFilter} and {@link ExplorerService#onFind}
+         * must not depend on the caller, results are shared between users.
+         *
+         * @param maximumSize Maximum number of results, no cache if zero
+         * @param timeToLive  Time to live of a result
+         * @return This builder
+         */
+        public Builder<E, D, M, S> resultCache(final int maximumSize, final Duration timeToLive) {
+            this.resultCacheSize = maximumSize;
+            this.resultCacheTimeToLive = timeToLive;
+            this.resultCacheFactory = null;
+            return this;
+        }
+
+        /**
+         * Cache the results of filter and find actions in a custom cache, e.g. a distributed cache.
+         * The factory is called once when the entry is registered,
+         * the cache is invalidated like the local cache of {@link #resultCache(int, Duration)}.
+         *
+         * @param factory Factory of the result cache
+         * @return This builder
+         */
+        public Builder<E, D, M, S> resultCache(final Supplier<? extends ResultCache> factory) {
+            this.resultCacheSize = 0;
+            this.resultCacheTimeToLive = Duration.ZERO;
+            this.resultCacheFactory = Objects.requireNonNull(factory);
+            return this;
+        }
+
+        /**
+         * Set the number of entities of a bulk chunk or an export fetch.
+         * Each bulk chunk is loaded with a single query, then flushed and cleared from the persistence context.
+         * An export fetches this number of rows per database round trip,
+         * and clears the persistence context after each of them.
+         * Should be aligned with the <i>JDBC</i> batch size of the persistence provider.
+         *
+         * @param batchSize Number of entities, strictly positive
+         * @return This builder
+         * @throws IllegalArgumentException If the batch size is not strictly positive
+         */
+        public Builder<E, D, M, S> batchSize(final int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Invalid batch size : " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Load the associations of a named entity graph with the entities.
+         * Applied as a load graph to the filter, find and export actions.
+         *
+         * @param name Name of a named entity graph of the entity
+         * @return This builder
+         */
+        public Builder<E, D, M, S> fetchGraph(final String name) {
+            this.fetchGraph = name;
+            return this;
+        }
+
+        /**
+         * Load associations with the entities, in the same query.
+         * Useful for associations read by the mapper, instead of a query per entity.
+         * Applied as a load graph to the filter, find and export actions.
+         *
+         * @param attributes Association attributes names of the entity
+         * @return This builder
+         */
+        public Builder<E, D, M, S> fetch(final String... attributes) {
+            this.fetchAttributes.addAll(List.of(attributes));
+            return this;
+        }
+
+        /**
+         * Map the entities of a filter page in parallel, by chunks, when the page has enough entities.
+         * The order of the page is preserved, a smaller page is mapped sequentially.
+         * The mapper must be thread-safe and only read the loaded state of the entities,
+         * fetch the associations it reads with {@link #fetch(String...)}.
+         * A page with an entity not fully loaded is mapped sequentially.
+         *
+         * @param threshold Minimum number of entities for a parallel mapping, no parallel mapping if zero
+         * @return This builder
+         */
+        public Builder<E, D, M, S> parallelMapping(final int threshold) {
+            this.parallelMappingThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Allow the selection of properties of the data transfer object with the query parameter {@code select}.
+         * Each property must have the same name and value as a basic attribute of the entity,
+         * the selected values are read from the database without the mapper.
+         * Without selectable properties, the selection is refused.
+         *
+         * @param properties Properties names of the data transfer object, also basic attributes names of the entity
+         * @return This builder
+         */
+        public Builder<E, D, M, S> selectable(final String... properties) {
+            for (var p : properties) {
+                this.selectableAttributes.put(p, p);
+            }
+            return this;
+        }
+
+        /**
+         * Allow the selection of a property of the data transfer object with the query parameter {@code select},
+         * when the property is named differently from the entity attribute.
+         * The property must have the same value as the basic attribute of the entity.
+         *
+         * @param property  Property name of the data transfer object
+         * @param attribute Basic attribute name of the entity
+         * @return This builder
+         */
+        public Builder<E, D, M, S> selectable(final String property, final String attribute) {
+            this.selectableAttributes.put(property, attribute);
+            return this;
+        }
+
+        /**
+         * Build the entry point.
+         *
+         * @return A new entry point
+         */
+        public DynamicEntry<E, D, M, S> build() {
+            return new DynamicEntry<>(this);
+        }
+    }
 }
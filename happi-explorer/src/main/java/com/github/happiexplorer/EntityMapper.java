@@ -1,11 +1,8 @@
 package com.github.happiexplorer;
 
-import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * Root converter for dynamic entry.
@@ -17,23 +14,15 @@ public interface EntityMapper<E, D> {
 
     /**
      * Convert the identifier to the correct type.
+     * The entity class and the identifier converter are resolved once per mapper class,
+     * see {@link EntityMappers#mapId(Class, String)}.
      *
      * @param id  Unique identifier of entity
      * @param <K> Real type of identifier
      * @return An instance of identifier with the right type
      */
     default <K> K mapId(String id) {
-        var entityClass = Stream
-                .of(this.getClass().getGenericInterfaces())
-                .filter(t -> t instanceof ParameterizedType)
-                .map(t -> (ParameterizedType) t)
-                .filter(t -> Objects.equals(t.getRawType(), EntityMapper.class))
-                .map(t -> (Class<E>) t.getActualTypeArguments()[0])
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Can not find entity class using introspection"));
-
-        var idClass = EntityMappers.findIdentifierType(entityClass);
-        return (K) EntityMappers.convert(idClass, id);
+        return EntityMappers.mapId(this.getClass(), id);
     }
 
     /**
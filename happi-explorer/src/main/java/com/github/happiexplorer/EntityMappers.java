@@ -1,17 +1,51 @@
 package com.github.happiexplorer;
 
+import com.github.happiexplorer.persistence.EntityMetadataRegistry;
 import jakarta.enterprise.inject.spi.CDI;
-import jakarta.persistence.EntityManager;
 
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * Utility for mapper class.
  */
 public final class EntityMappers {
 
+    /**
+     * Converter for an identifier stored as {@link String} but following the {@link UUID} format.
+     * The identifier is validated against the {@link UUID} format and passed through unchanged,
+     * the database lookup uses the literal value sent by the client.
+     */
+    public static final Function<String, Object> UUID_AS_STRING = EntityMappers::checkUUID;
+
+    /**
+     * Literal {@link UUID} format, in any case.
+     */
+    private static final Pattern UUID_FORMAT = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}"
+    );
+
+    /**
+     * Separator between attributes of a composite identifier.
+     */
+    private static final String COMPOSITE_ID_SEPARATOR = ",";
+
+    /**
+     * Separator between the name and the value of a composite identifier attribute.
+     */
+    private static final char COMPOSITE_ID_ASSIGNMENT = '=';
+
     /**
      * Supported converter.
      */
@@ -27,6 +61,46 @@ public final class EntityMappers {
             UUID.class, UUID::fromString
     );
 
+    /**
+     * Converters registered for a specific entity class, or one of its super classes.
+     */
+    private static final Map<Class<?>, Function<String, Object>> CUSTOM_ID_CONVERTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Entity classes whose identifier converter is already resolved.
+     */
+    private static final Set<Class<?>> RESOLVED_ENTITY_CLASSES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Entity class resolved once per mapper class.
+     */
+    private static final ClassValue<Class<?>> ENTITY_CLASSES = new ClassValue<>() {
+        @Override
+        protected Class<?> computeValue(final Class<?> mapperClass) {
+            return findEntityClass(mapperClass);
+        }
+    };
+
+    /**
+     * Identifier converter resolved once per entity class.
+     */
+    private static final ClassValue<Function<String, Object>> ENTITY_ID_CONVERTERS = new ClassValue<>() {
+        @Override
+        protected Function<String, Object> computeValue(final Class<?> entityClass) {
+            return createIdConverter(entityClass);
+        }
+    };
+
+    /**
+     * Composite identifier converter resolved once per identifier class.
+     */
+    private static final ClassValue<Function<String, Object>> COMPOSITE_ID_CONVERTERS = new ClassValue<>() {
+        @Override
+        protected Function<String, Object> computeValue(final Class<?> idClass) {
+            return createCompositeIdConverter(idClass);
+        }
+    };
+
     /**
      * Internal constructor.
      * Instance does not allow.
@@ -35,6 +109,42 @@ public final class EntityMappers {
         throw new UnsupportedOperationException("Instance not allowed");
     }
 
+    /**
+     * Register a specific identifier converter for an entity class.
+     * The converter applies to the entity class and its subclasses.
+     * Converters are resolved once per entity class, so the registration must happen
+     * before the first conversion of the entity class or one of its subclasses, e.g. in the startup phase.
+     *
+     * @param entityClass Entity class or mapped super class
+     * @param converter   Converter from the literal identifier
+     * @param <E>         Type of persistent entity
+     * @throws IllegalStateException If the converter of the entity class or one of its subclasses is already resolved
+     */
+    public static synchronized <E> void registerIdConverter(final Class<E> entityClass, final Function<String, ?> converter) {
+        for (var c : RESOLVED_ENTITY_CLASSES) {
+            if (entityClass.isAssignableFrom(c)) {
+                throw new IllegalStateException("Identifier converter already resolved for : " + c.getName());
+            }
+        }
+        CUSTOM_ID_CONVERTERS.put(entityClass, converter::apply);
+    }
+
+    /**
+     * Convert a literal identifier to the correct type for a mapper.
+     * The entity class and the converter are resolved once per mapper class.
+     *
+     * @param mapperClass Mapper class
+     * @param id          Literal unique identifier
+     * @param <K>         Type of unique identifier
+     * @return The unique identifier converted
+     * @throws ExplorerException If the literal identifier is invalid
+     */
+    public static <K> K mapId(final Class<?> mapperClass, final String id) {
+        var entityClass = ENTITY_CLASSES.get(mapperClass);
+        var converter = ENTITY_ID_CONVERTERS.get(entityClass);
+        return (K) apply(converter, id);
+    }
+
     /**
      * Introspect the entity class for finding the identifier class.
      *
@@ -44,9 +154,8 @@ public final class EntityMappers {
      * @return The identifier class
      */
     public static <E, K> Class<K> findIdentifierType(Class<E> entityClass) {
-        var em = CDI.current().select(EntityManager.class).get();
-        var idClass = em.getMetamodel().entity(entityClass).getIdType().getJavaType();
-        return (Class<K>) idClass;
+        var registry = CDI.current().select(EntityMetadataRegistry.class).get();
+        return (Class<K>) registry.get(entityClass).getIdType();
     }
 
     /**
@@ -56,8 +165,151 @@ public final class EntityMappers {
      * @param id      Literal unique identifier
      * @param <K>     Type of unique identifier
      * @return The unique identifier converted
+     * @throws ExplorerException If the literal identifier is invalid
      */
     public static <K> K convert(Class<K> idClass, String id) {
-        return (K) ID_CONVERTERS.get(idClass).apply(id);
+        var converter = ID_CONVERTERS.get(idClass);
+        if (Objects.isNull(converter)) {
+            converter = COMPOSITE_ID_CONVERTERS.get(idClass);
+        }
+        return (K) apply(converter, id);
+    }
+
+    /**
+     * Apply a converter on a literal identifier.
+     *
+     * @param converter Identifier converter
+     * @param id        Literal unique identifier
+     * @return The unique identifier converted
+     * @throws ExplorerException If the literal identifier is invalid
+     */
+    private static Object apply(final Function<String, Object> converter, final String id) {
+        try {
+            return converter.apply(id);
+        } catch (RuntimeException ex) {
+            throw new ExplorerException("Invalid identifier : " + id, ex);
+        }
+    }
+
+    /**
+     * Find the entity class declared by a mapper class.
+     *
+     * @param mapperClass Mapper class, or a subclass like a <i>CDI</i> proxy
+     * @return The entity class
+     * @throws IllegalStateException If the entity class can not be found
+     */
+    private static Class<?> findEntityClass(final Class<?> mapperClass) {
+        for (Class<?> c = mapperClass; Objects.nonNull(c); c = c.getSuperclass()) {
+            for (var t : c.getGenericInterfaces()) {
+                if (t instanceof ParameterizedType p
+                        && Objects.equals(p.getRawType(), EntityMapper.class)
+                        && p.getActualTypeArguments()[0] instanceof Class<?> entityClass) {
+
+                    return entityClass;
+                }
+            }
+        }
+        throw new IllegalStateException("Can not find entity class using introspection");
+    }
+
+    /**
+     * Create the identifier converter of an entity class.
+     * A converter registered for the entity class or one of its super classes takes precedence.
+     *
+     * @param entityClass Entity class
+     * @return The identifier converter
+     */
+    private static Function<String, Object> createIdConverter(final Class<?> entityClass) {
+        synchronized (EntityMappers.class) {
+            RESOLVED_ENTITY_CLASSES.add(entityClass);
+        }
+        for (Class<?> c = entityClass; Objects.nonNull(c); c = c.getSuperclass()) {
+            var custom = CUSTOM_ID_CONVERTERS.get(c);
+            if (Objects.nonNull(custom)) {
+                return custom;
+            }
+        }
+
+        var idClass = findIdentifierType(entityClass);
+        var converter = ID_CONVERTERS.get(idClass);
+        if (Objects.isNull(converter)) {
+            converter = COMPOSITE_ID_CONVERTERS.get(idClass);
+        }
+        return converter;
+    }
+
+    /**
+     * Check a literal identifier following the {@link UUID} format.
+     *
+     * @param id Literal unique identifier
+     * @return The literal unique identifier, unchanged
+     * @throws IllegalArgumentException If the literal identifier does not follow the {@link UUID} format
+     */
+    private static Object checkUUID(final String id) {
+        if (!UUID_FORMAT.matcher(id).matches()) {
+            throw new IllegalArgumentException("Invalid UUID : " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Create a converter for a composite identifier, like an {@code @EmbeddedId} or an {@code @IdClass}.
+     * The literal identifier format is: {@code <name>=<value>,<name>=<value>}
+     *
+     * @param idClass Composite identifier class
+     * @return The identifier converter
+     */
+    private static Function<String, Object> createCompositeIdConverter(final Class<?> idClass) {
+
+        var fields = new HashMap<String, Field>();
+        var converters = new HashMap<String, Function<String, Object>>();
+        for (Class<?> c = idClass; Objects.nonNull(c) && !Objects.equals(c, Object.class); c = c.getSuperclass()) {
+            for (var f : c.getDeclaredFields()) {
+                var modifiers = f.getModifiers();
+                var type = MethodType.methodType(f.getType()).wrap().returnType();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && ID_CONVERTERS.containsKey(type)) {
+                    f.setAccessible(true);
+                    fields.putIfAbsent(f.getName(), f);
+                    converters.putIfAbsent(f.getName(), ID_CONVERTERS.get(type));
+                }
+            }
+        }
+
+        var constructor = findConstructor(idClass);
+        return id -> {
+            try {
+                var instance = constructor.newInstance();
+                for (var part : id.split(COMPOSITE_ID_SEPARATOR)) {
+                    var index = part.indexOf(COMPOSITE_ID_ASSIGNMENT);
+                    var name = part.substring(0, index).trim();
+                    var value = part.substring(index + 1).trim();
+                    var field = fields.get(name);
+                    if (Objects.isNull(field)) {
+                        throw new IllegalArgumentException("Unknown identifier attribute : " + name);
+                    }
+                    field.set(instance, converters.get(name).apply(value));
+                }
+                return instance;
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        };
+    }
+
+    /**
+     * Find the default constructor of a composite identifier class.
+     *
+     * @param idClass Composite identifier class
+     * @return The default constructor
+     * @throws ExplorerException If the class has no default constructor
+     */
+    private static Constructor<?> findConstructor(final Class<?> idClass) {
+        try {
+            var constructor = idClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException ex) {
+            throw new ExplorerException("Unsupported identifier type : " + idClass, ex);
+        }
     }
 }
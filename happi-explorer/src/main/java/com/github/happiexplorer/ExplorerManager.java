@@ -1,26 +1,49 @@
 package com.github.happiexplorer;
 
 import com.github.happiexplorer.discovery.DiscoveryService;
+import com.github.happiexplorer.persistence.EntityMetadataRegistry;
+import com.github.happiexplorer.security.AuthorizationMatrix;
+import com.github.happiexplorer.security.HappiSecurityManager;
 import com.github.happiexplorer.service.ExplorerService;
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * The manager for all entry point.
  * This class should register dynamics entries when the initializing phase is call.
+ * Once the application scope is initialized, the registry is sealed:
+ * it becomes immutable and no more entry can be registered.
  */
 @ApplicationScoped
 public class ExplorerManager {
 
     /**
-     * Dynamics entries.
+     * Registered entries indexed by unique path name.
+     * Mutable during the registration phase, replaced by an immutable copy when sealed.
      */
-    private final Set<DynamicEntry<?, ?, ?, ?>> entries;
+    private volatile Map<String, ResolvedEntry<?, ?, ?, ?>> registry;
+
+    /**
+     * Indicates if the registration phase is over.
+     */
+    private volatile boolean sealed;
 
     /**
      * Discovery service.
@@ -28,12 +51,25 @@ public class ExplorerManager {
     @Inject
     private DiscoveryService discoveryService;
 
+    /**
+     * Compiled entity metadata.
+     */
+    @Inject
+    private EntityMetadataRegistry metadataRegistry;
+
+    /**
+     * Security manager, indexing the roles of the entries.
+     */
+    @Inject
+    private HappiSecurityManager securityManager;
+
     /**
      * Default constructor.
      * This class is injectable, don't call this constructor explicitly.
      */
     public ExplorerManager() {
-        this.entries = new HashSet<>();
+        this.registry = new ConcurrentHashMap<>();
+        this.sealed = false;
     }
 
     /**
@@ -44,17 +80,112 @@ public class ExplorerManager {
      * @param <D>   Type of data transfer object
      * @param <M>   Type of mapper
      * @param <S>   Type of service
-     * @throws IllegalArgumentException If the entry already exists
+     * @throws ExplorerException If the entry already exists, if the registry is sealed
+     *                           or if the query plan cache is enabled with a service filter function
      */
-    public <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> void register(final DynamicEntry<E, D, M, S> entry) {
-        if (this.entries.contains(entry)) {
+    public synchronized <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> void register(final DynamicEntry<E, D, M, S> entry) {
+        if (this.sealed) {
+            throw new ExplorerException("Registry is sealed, entry not allowed : " + entry);
+        } else if (this.registry.containsKey(entry.getPath())) {
             throw new ExplorerException("Entry already registered : " + entry);
+        } else if (entry.getQueryPlanCacheSize() > 0 && hasFilterFunction(entry.getServiceClass())) {
+            throw new ExplorerException("Query plan cache not allowed with a service filter function : " + entry);
         } else {
-            this.entries.add(entry);
+            var cdi = CDI.current();
+            var beanManager = cdi.getBeanManager();
+            var mapperClass = entry.getMapperClass();
+            var serviceClass = entry.getServiceClass();
+            var metadata = this.metadataRegistry.register(entry.getEntityClass());
+            var resolved = new ResolvedEntry<>(
+                    entry,
+                    BeanHandle.of(beanManager, cdi.select(mapperClass), mapperClass),
+                    BeanHandle.of(beanManager, cdi.select(serviceClass), serviceClass),
+                    AuthorizationMatrix.compile(entry.getActions(), this.securityManager),
+                    metadata.getAssociationClasses()
+            );
+            for (var a : entry.getFetchPlan().getAttributes()) {
+                if (!metadata.isAssociationAttribute(a)) {
+                    throw new ExplorerException("Invalid fetch attribut : " + a + " in entry : " + entry);
+                }
+            }
+            for (var a : entry.getSelectableAttributes().values()) {
+                if (!metadata.isBasicAttribute(a)) {
+                    throw new ExplorerException("Invalid selectable attribut : " + a + " in entry : " + entry);
+                }
+            }
+            Validations.warmUp(entry.getDataClass());
+            this.registry.put(entry.getPath(), resolved);
             this.discoveryService.scan(entry.getDataClass());
         }
     }
 
+    /**
+     * Check if a service overrides the filter function {@link ExplorerService#onFilter}.
+     *
+     * @param serviceClass Service class
+     * @return The value {@code true} if the filter function is overridden, otherwise the value {@code false} is returned
+     */
+    private static boolean hasFilterFunction(final Class<?> serviceClass) {
+        boolean filterFunction;
+        try {
+            var method = serviceClass.getMethod("onFilter", Predicate.class, CriteriaBuilder.class, Root.class, CriteriaQuery.class);
+            filterFunction = !Objects.equals(method.getDeclaringClass(), ExplorerService.class);
+        } catch (NoSuchMethodException ex) {
+            filterFunction = false;
+        }
+        return filterFunction;
+    }
+
+    /**
+     * Seal the registry when the application scope is initialized.
+     * This observer is called after the application observers,
+     * the registry becomes immutable.
+     *
+     * @param pointless Event payload, not used
+     */
+    void seal(@Observes @Priority(Interceptor.Priority.PLATFORM_AFTER) @Initialized(ApplicationScoped.class) final Object pointless) {
+        this.seal();
+    }
+
+    /**
+     * Seal the registry.
+     * The registered entries are copied in an immutable index, no more entry can be registered.
+     */
+    public synchronized void seal() {
+        if (!this.sealed) {
+            this.registry = Map.copyOf(this.registry);
+            this.sealed = true;
+        }
+    }
+
+    /**
+     * Check if the registry is sealed.
+     *
+     * @return The value {@code true} if the registration phase is over, otherwise the value {@code false} is returned
+     */
+    public boolean isSealed() {
+        return this.sealed;
+    }
+
+    /**
+     * Retrieve the entry point and its beans from the unique path name.
+     *
+     * @param name Unique path name
+     * @param <E>  Type of persistence entity
+     * @param <D>  Type of data transfer object
+     * @param <M>  Type of mapper
+     * @param <S>  Type of service
+     * @return The entry point with its beans
+     * @throws ExplorerException If no entry found with the unique path name
+     */
+    public <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> ResolvedEntry<E, D, M, S> lookup(final String name) {
+        var resolved = Objects.isNull(name) ? null : this.registry.get(name);
+        if (Objects.isNull(resolved)) {
+            throw new ExplorerException("No entry registered for name : " + name);
+        }
+        return (ResolvedEntry<E, D, M, S>) resolved;
+    }
+
     /**
      * Retrieve the entry point form the unique path name.
      *
@@ -64,18 +195,14 @@ public class ExplorerManager {
      * @param <M>  Type of mapper
      * @param <S>  Type of service
      * @return The entry point
-     * @throws IllegalArgumentException If no entry found with the unique path name
+     * @throws ExplorerException If no entry found with the unique path name
      */
     public <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> DynamicEntry<E, D, M, S> resolve(final String name) {
-        return (DynamicEntry<E, D, M, S>) this.entries
-                .stream()
-                .filter(d -> Objects.equals(d.getPath(), name))
-                .findFirst()
-                .orElseThrow(() -> new ExplorerException("No entry registered for name : " + name));
+        return this.<E, D, M, S>lookup(name).getEntry();
     }
 
     /**
-     * Invoke the service instance using <i>CDI</i>.
+     * Invoke the service instance using its cached <i>CDI</i> bean handle.
      *
      * @param name Unique path name
      * @param <E>  Type of persistence entity
@@ -85,13 +212,11 @@ public class ExplorerManager {
      * @return Instance of service
      */
     public <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> S invokeService(final String name) {
-        var entry = this.<E, D, M, S>resolve(name);
-        var service = entry.getServiceClass();
-        return CDI.current().select(service).get();
+        return this.<E, D, M, S>lookup(name).getService();
     }
 
     /**
-     * Invoke the mapper instance using <i>CDI</i>.
+     * Invoke the mapper instance using its cached <i>CDI</i> bean handle.
      *
      * @param entry Dynamic entry
      * @param <E>   Type of persistence entity
@@ -101,8 +226,16 @@ public class ExplorerManager {
      * @return Instance of mapper
      */
     public <E, D, M extends EntityMapper<E, D>, S extends ExplorerService> M invokeMapper(final DynamicEntry<E, D, M, S> entry) {
-        var mapper = entry.getMapperClass();
-        return CDI.current().select(mapper).get();
+        return this.<E, D, M, S>lookup(entry.getPath()).getMapper();
+    }
+
+    /**
+     * Retrieve all registered entry point with their beans.
+     *
+     * @return All registered entry point with their beans
+     */
+    public Collection<ResolvedEntry<?, ?, ?, ?>> resolvedEntries() {
+        return List.copyOf(this.registry.values());
     }
 
     /**
@@ -111,7 +244,11 @@ public class ExplorerManager {
      * @return All registered entry point
      */
     public Set<DynamicEntry<?, ?, ?, ?>> entries() {
-        return Set.copyOf(entries);
+        return this.registry
+                .values()
+                .stream()
+                .<DynamicEntry<?, ?, ?, ?>>map(ResolvedEntry::getEntry)
+                .collect(Collectors.toUnmodifiableSet());
     }
 
 }
@@ -1,17 +1,54 @@
 package com.github.happiexplorer;
 
-import jakarta.json.Json;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonParser;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility for <i>JSON</i>.
+ * A single {@link Jsonb} instance is shared, it is thread-safe and expensive to create.
  */
 public final class Jsons {
 
+    /**
+     * Shared <i>JSON-P</i> provider.
+     */
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    /**
+     * Name of the method binding a <i>JSON</i> structure without text, provided by <i>Yasson</i>.
+     */
+    private static final String STRUCTURE_BINDER = "fromJsonStructure";
+
+    /**
+     * Shared <i>JSON-B</i> instance and its structure binder, created on first use.
+     */
+    private static volatile Binding binding;
+
     /**
      * Internal constructor.
      * Instance does not allow.
@@ -20,6 +57,45 @@ public final class Jsons {
         throw new UnsupportedOperationException("Instance not allowed");
     }
 
+    /**
+     * Replace the shared <i>JSON-B</i> instance with a new configuration.
+     * Should be called during the startup phase,
+     * the previous instance is not closed because it can still be in use.
+     *
+     * @param config <i>JSON-B</i> configuration
+     */
+    public static void configure(final JsonbConfig config) {
+        binding = Binding.of(JsonbBuilder.create(config));
+    }
+
+    /**
+     * Get the shared <i>JSON-B</i> instance.
+     *
+     * @return The shared <i>JSON-B</i> instance
+     */
+    public static Jsonb jsonb() {
+        return binding().jsonb;
+    }
+
+    /**
+     * Get the shared <i>JSON-B</i> instance and its structure binder.
+     *
+     * @return The shared binding
+     */
+    private static Binding binding() {
+        var instance = binding;
+        if (Objects.isNull(instance)) {
+            synchronized (Jsons.class) {
+                instance = binding;
+                if (Objects.isNull(instance)) {
+                    instance = Binding.of(JsonbBuilder.create());
+                    binding = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
     /**
      * Parse a <i>JSON</i> string to data transfer object.
      *
@@ -29,30 +105,60 @@ public final class Jsons {
      * @return A data transfer object
      */
     public static <T> T parse(final Class<T> type, final String document) {
-        var builder = JsonbBuilder.create();
-        try (builder) {
-            return builder.fromJson(document, type);
+        try {
+            return jsonb().fromJson(document, type);
         } catch (Exception ex) {
             throw new IllegalStateException(ex);
         }
     }
 
+    /**
+     * Parse a <i>JSON</i> stream to data transfer object.
+     * The document is bound directly, without intermediate <i>JSON</i> object or string.
+     *
+     * @param type     Data type
+     * @param document <i>JSON</i> as stream, not closed by this method
+     * @param <T>      Generic data type
+     * @return A data transfer object
+     * @throws ExplorerException If the document is not a valid <i>JSON</i> for this type
+     */
+    public static <T> T parse(final Class<T> type, final InputStream document) {
+        try {
+            return jsonb().fromJson(document, type);
+        } catch (JsonbException ex) {
+            throw new ExplorerException("Invalid JSON document for type : " + type.getSimpleName(), ex);
+        }
+    }
+
     /**
      * Parse a <i>JSON</i> object to data transfer object.
+     * The object is bound directly if the <i>JSON-B</i> provider supports it, e.g. <i>Yasson</i>,
+     * otherwise it is written as text and parsed again.
      *
      * @param type     Data type
      * @param document <i>JSON</i> object
      * @param <T>      Generic data type
      * @return A data transfer object
+     * @throws ExplorerException If the document is not a valid <i>JSON</i> for this type
      */
     public static <T> T parse(final Class<T> type, final JsonObject document) {
-        try (var stringWriter = new StringWriter();
-             var writer = Json.createWriter(stringWriter)) {
-
-            writer.writeObject(document);
-            var text = stringWriter.toString();
-            return parse(type, text);
-        } catch (Exception ex) {
+        var instance = binding();
+        try {
+            T data;
+            if (Objects.isNull(instance.structureBinder)) {
+                data = instance.jsonb.fromJson(parse(document), type);
+            } else {
+                data = type.cast(instance.structureBinder.invoke(instance.jsonb, document, type));
+            }
+            return data;
+        } catch (JsonbException ex) {
+            throw new ExplorerException("Invalid JSON document for type : " + type.getSimpleName(), ex);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof JsonbException) {
+                throw new ExplorerException("Invalid JSON document for type : " + type.getSimpleName(), ex.getCause());
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (IllegalAccessException ex) {
             throw new IllegalStateException(ex);
         }
     }
@@ -64,9 +170,8 @@ public final class Jsons {
      * @return A <i>JSON</i> string
      */
     public static String parse(final Object entity) {
-        var builder = JsonbBuilder.create();
-        try (builder) {
-            return builder.toJson(entity);
+        try {
+            return jsonb().toJson(entity);
         } catch (Exception ex) {
             throw new IllegalStateException(ex);
         }
@@ -79,7 +184,7 @@ public final class Jsons {
      * @return A <i>JSON</i> object
      */
     public static JsonObject parse(final String document) {
-        var reader = Json.createReader(new StringReader(document));
+        var reader = PROVIDER.createReader(new StringReader(document));
         try (reader) {
             return reader.readObject();
         } catch (Exception ex) {
@@ -87,6 +192,83 @@ public final class Jsons {
         }
     }
 
+    /**
+     * Parse a <i>JSON</i> stream to <i>JSON</i> object.
+     *
+     * @param document <i>JSON</i> as stream, not closed by this method
+     * @return A <i>JSON</i> object
+     * @throws ExplorerException If the document is not a valid <i>JSON</i> object
+     */
+    public static JsonObject parse(final InputStream document) {
+        try {
+            return PROVIDER.createReader(document).readObject();
+        } catch (RuntimeException ex) {
+            throw new ExplorerException("Invalid JSON document", ex);
+        }
+    }
+
+    /**
+     * Parse a <i>JSON</i> array stream to a stream of <i>JSON</i> values.
+     * The elements are read one by one when the stream is consumed, the whole array is never in memory.
+     *
+     * @param document <i>JSON</i> array as stream, not closed by this method
+     * @return A lazy stream of <i>JSON</i> values
+     * @throws ExplorerException If the document is not a valid <i>JSON</i> array, also during consumption
+     */
+    public static Stream<JsonValue> parseArray(final InputStream document) {
+        JsonParser parser;
+        try {
+            parser = PROVIDER.createParser(document);
+            if (!parser.hasNext() || !Objects.equals(parser.next(), JsonParser.Event.START_ARRAY)) {
+                throw new ExplorerException("Invalid JSON document, an array is expected");
+            }
+        } catch (ExplorerException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new ExplorerException("Invalid JSON document", ex);
+        }
+
+        return stream(() -> {
+            JsonValue value;
+            if (Objects.equals(parser.next(), JsonParser.Event.END_ARRAY)) {
+                value = null;
+            } else {
+                value = parser.getValue();
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Parse a newline delimited <i>JSON</i> stream to a stream of <i>JSON</i> values.
+     * Each non-blank line is a <i>JSON</i> value, read when the stream is consumed.
+     *
+     * @param document Newline delimited <i>JSON</i> as stream, not closed by this method
+     * @return A lazy stream of <i>JSON</i> values
+     * @throws ExplorerException If a line is not a valid <i>JSON</i> value, during consumption
+     */
+    public static Stream<JsonValue> parseLines(final InputStream document) {
+        var lines = new BufferedReader(new InputStreamReader(document, StandardCharsets.UTF_8));
+        return stream(() -> {
+            try {
+                var line = lines.readLine();
+                while (Objects.nonNull(line) && line.isBlank()) {
+                    line = lines.readLine();
+                }
+
+                JsonValue value;
+                if (Objects.isNull(line)) {
+                    value = null;
+                } else {
+                    value = PROVIDER.createReader(new StringReader(line)).readValue();
+                }
+                return value;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
     /**
      * Parse a <i>JSON</i> object to <i>JSON</i> string.
      *
@@ -95,7 +277,7 @@ public final class Jsons {
      */
     public static String parse(final JsonObject document) {
         var output = new StringWriter();
-        var writer = Json.createWriter(output);
+        var writer = PROVIDER.createWriter(output);
         try (output; writer) {
             writer.writeObject(document);
             return output.toString();
@@ -103,4 +285,78 @@ public final class Jsons {
             throw new IllegalStateException(ex);
         }
     }
+
+    /**
+     * Create a lazy stream of <i>JSON</i> values.
+     *
+     * @param next Function reading the next value, {@code null} at the end of the document
+     * @return A lazy and ordered stream
+     */
+    private static Stream<JsonValue> stream(final Supplier<JsonValue> next) {
+        var spliterator = new Spliterators.AbstractSpliterator<JsonValue>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super JsonValue> action) {
+                JsonValue value;
+                try {
+                    value = next.get();
+                } catch (RuntimeException ex) {
+                    throw new ExplorerException("Invalid JSON document", ex);
+                }
+
+                var advance = Objects.nonNull(value);
+                if (advance) {
+                    action.accept(value);
+                }
+                return advance;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Shared <i>JSON-B</i> instance with its structure binder.
+     */
+    private static final class Binding {
+
+        /**
+         * Shared <i>JSON-B</i> instance.
+         */
+        private final Jsonb jsonb;
+
+        /**
+         * Method binding a <i>JSON</i> structure to a type, {@code null} if the provider has none.
+         */
+        private final Method structureBinder;
+
+        /**
+         * Internal constructor.
+         * Use the factory method {@link Binding#of(Jsonb)}.
+         *
+         * @param jsonb           Shared <i>JSON-B</i> instance
+         * @param structureBinder Method binding a <i>JSON</i> structure to a type
+         */
+        private Binding(final Jsonb jsonb, final Method structureBinder) {
+            this.jsonb = jsonb;
+            this.structureBinder = structureBinder;
+        }
+
+        /**
+         * Find the structure binder of a <i>JSON-B</i> instance, declared by a public interface of the provider.
+         *
+         * @param jsonb <i>JSON-B</i> instance
+         * @return A new binding
+         */
+        private static Binding of(final Jsonb jsonb) {
+            Method structureBinder = null;
+            var interfaces = jsonb.getClass().getInterfaces();
+            for (var i = 0; i < interfaces.length && Objects.isNull(structureBinder); i++) {
+                try {
+                    structureBinder = interfaces[i].getMethod(STRUCTURE_BINDER, JsonStructure.class, Class.class);
+                } catch (NoSuchMethodException ex) {
+                    structureBinder = null;
+                }
+            }
+            return new Binding(jsonb, structureBinder);
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package com.github.happiexplorer;
+
+import com.github.happiexplorer.persistence.QueryPlanCache;
+import com.github.happiexplorer.security.AuthorizationMatrix;
+import com.github.happiexplorer.service.ExplorerService;
+import com.github.happiexplorer.service.LocalResultCache;
+import com.github.happiexplorer.service.ResultCache;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A registered entry point with its <i>CDI</i> beans.
+ * Instances are created by {@link ExplorerManager} during the registration phase,
+ * so that the entry, the service and the mapper are available with a single lookup.
+ *
+ * @param <E> Type of persistent entity
+ * @param <D> Type of data transfer object
+ * @param <M> Type of mapper
+ * @param <S> Type of service
+ */
+public final class ResolvedEntry<E, D, M extends EntityMapper<E, D>, S extends ExplorerService> {
+
+    /**
+     * Dynamic entry.
+     */
+    private final DynamicEntry<E, D, M, S> entry;
+
+    /**
+     * Mapper bean handle.
+     */
+    private final BeanHandle<M> mapper;
+
+    /**
+     * Service bean handle.
+     */
+    private final BeanHandle<S> service;
+
+    /**
+     * Cache of compiled filter queries.
+     */
+    private final QueryPlanCache queryPlans;
+
+    /**
+     * Cache of read results, {@code null} if disabled.
+     */
+    private final ResultCache resultCache;
+
+    /**
+     * Compiled authorization decision table.
+     */
+    private final AuthorizationMatrix authorizations;
+
+    /**
+     * Entity classes of the associations of the entity, which can be loaded with the cached results.
+     */
+    private final Set<Class<?>> associationClasses;
+
+    /**
+     * Internal constructor.
+     * Instances are created by {@link ExplorerManager}.
+     *
+     * @param entry          Dynamic entry
+     * @param mapper         Mapper bean handle
+     * @param service        Service bean handle
+     * @param authorizations     Compiled authorization decision table
+     * @param associationClasses Entity classes of the associations of the entity
+     */
+    ResolvedEntry(
+            final DynamicEntry<E, D, M, S> entry,
+            final BeanHandle<M> mapper,
+            final BeanHandle<S> service,
+            final AuthorizationMatrix authorizations,
+            final Set<Class<?>> associationClasses) {
+
+        this.entry = entry;
+        this.mapper = mapper;
+        this.service = service;
+        this.queryPlans = QueryPlanCache.of(entry.getQueryPlanCacheSize());
+        if (Objects.nonNull(entry.getResultCacheFactory())) {
+            this.resultCache = Objects.requireNonNull(entry.getResultCacheFactory().get(), "Missing result cache");
+        } else if (entry.getResultCacheSize() > 0) {
+            this.resultCache = LocalResultCache.of(entry.getResultCacheSize(), entry.getResultCacheTimeToLive());
+        } else {
+            this.resultCache = null;
+        }
+        this.authorizations = authorizations;
+        this.associationClasses = Set.copyOf(associationClasses);
+    }
+
+    /**
+     * Check if the cached results of this entry point can contain entities of a class,
+     * the entity of the entry point or an entity of a fetched or included association.
+     *
+     * @param entityClass Entity class
+     * @return The value {@code true} if the results depend on the entity class, otherwise the value {@code false} is returned
+     */
+    public boolean dependsOn(final Class<?> entityClass) {
+        return Objects.equals(this.entry.getEntityClass(), entityClass)
+                || this.associationClasses.stream().anyMatch(c -> c.isAssignableFrom(entityClass));
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{entry=").append(entry)
+                .append('}').toString();
+    }
+
+    /**
+     * Get the mapper instance using the cached bean handle.
+     *
+     * @return Instance of mapper
+     */
+    public M getMapper() {
+        return this.mapper.get();
+    }
+
+    /**
+     * Get the service instance using the cached bean handle.
+     *
+     * @return Instance of service
+     */
+    public S getService() {
+        return this.service.get();
+    }
+
+    // Getter...
+
+    public DynamicEntry<E, D, M, S> getEntry() {
+        return entry;
+    }
+
+    public BeanHandle<M> getMapperHandle() {
+        return mapper;
+    }
+
+    public BeanHandle<S> getServiceHandle() {
+        return service;
+    }
+
+    public QueryPlanCache getQueryPlans() {
+        return queryPlans;
+    }
+
+    public Optional<ResultCache> getResultCache() {
+        return Optional.ofNullable(resultCache);
+    }
+
+    public AuthorizationMatrix getAuthorizations() {
+        return authorizations;
+    }
+}
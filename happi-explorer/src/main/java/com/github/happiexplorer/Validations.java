@@ -1,9 +1,14 @@
 package com.github.happiexplorer;
 
 import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import java.util.List;
 
 /**
  * A validator class facility using <i>Bean Validation</i>.
+ * A single validator factory is shared by the application, it is expensive to create.
  */
 public final class Validations {
 
@@ -15,6 +20,16 @@ public final class Validations {
         throw new UnsupportedOperationException("Instance not allowed");
     }
 
+    /**
+     * Load the constraint metadata of a class.
+     * Useful during the startup phase, so that the first validation does not pay this cost.
+     *
+     * @param type Any class to validate later
+     */
+    public static void warmUp(final Class<?> type) {
+        Holder.VALIDATOR.getConstraintsForClass(type);
+    }
+
     /**
      * Validate any object using <i>Bean Validation</i>.
      *
@@ -22,29 +37,59 @@ public final class Validations {
      * @throws ValidationException if the parameter is invalid
      */
     public static void validate(final Object bean) {
+        validate(bean, List.of());
+    }
 
-        var validatorFactory = Validation.buildDefaultValidatorFactory();
-
-        try (validatorFactory) {
-            var validator = validatorFactory.getValidator();
-            var violations = validator.validate(bean);
+    /**
+     * Validate any object using <i>Bean Validation</i>.
+     *
+     * @param bean   Any object to valide
+     * @param groups Validation groups, the default group is used if empty
+     * @throws ValidationException if the parameter is invalid
+     */
+    public static void validate(final Object bean, final List<Class<?>> groups) {
 
-            if (!violations.isEmpty()) {
-                var typeName = bean.getClass().getSimpleName();
-                var exception = new ValidationException(
-                        "Validation failed for object type : " + typeName + " ",
-                        violations
-                );
+        var violations = Holder.VALIDATOR.validate(bean, groups.toArray(Class<?>[]::new));
 
-                for (var v : violations) {
-                    var p = String.valueOf(v.getPropertyPath());
-                    var m = v.getMessage();
-                    var ex = new ValidationException("Field: [" + p + "], details: " + m);
-                    exception.addSuppressed(ex);
-                }
+        if (!violations.isEmpty()) {
+            var typeName = bean.getClass().getSimpleName();
+            var exception = new ValidationException(
+                    "Validation failed for object type : " + typeName + " ",
+                    violations
+            );
 
-                throw exception;
+            for (var v : violations) {
+                var p = String.valueOf(v.getPropertyPath());
+                var m = v.getMessage();
+                var ex = new ValidationException("Field: [" + p + "], details: " + m);
+                exception.addSuppressed(ex);
             }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Lazy holder of the shared validator factory.
+     */
+    private static final class Holder {
+
+        /**
+         * Shared validator factory.
+         */
+        private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+
+        /**
+         * Shared validator, thread-safe.
+         */
+        private static final Validator VALIDATOR = FACTORY.getValidator();
+
+        /**
+         * Internal constructor.
+         * Instance does not allow.
+         */
+        private Holder() {
+            throw new UnsupportedOperationException("Instance not allowed");
         }
     }
 
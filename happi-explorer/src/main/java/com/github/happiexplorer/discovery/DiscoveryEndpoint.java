@@ -6,7 +6,6 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -55,10 +54,7 @@ public class DiscoveryEndpoint {
      * @throws ForbiddenException if this endpoint is disabled
      */
     private void checkIfEndpointEnable() {
-        var permission = this.securityManager
-                .getConfiguration(HappiSecurityManager.Configuration.DISCOVERY_ENDPOINT);
-
-        if (Objects.equals(Boolean.parseBoolean(permission), Boolean.FALSE)) {
+        if (!this.securityManager.getConfiguration().isDiscoveryEndpoint()) {
             throw new ForbiddenException();
         }
     }
@@ -1,13 +1,19 @@
 package com.github.happiexplorer.endpoint;
 
 import com.github.happiexplorer.Action;
+import com.github.happiexplorer.BeanHandle;
 import com.github.happiexplorer.DynamicEntry;
+import com.github.happiexplorer.ResolvedEntry;
+import com.github.happiexplorer.persistence.QueryPlanCache;
+import com.github.happiexplorer.security.TokenValidationCache;
+import com.github.happiexplorer.service.ResultCache;
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Simple <i>JSON</i> object mapper for {@link DynamicEntry} class.
@@ -38,6 +44,118 @@ final class DynamicEntryMapper {
 
     }
 
+    /**
+     * Convert bean handles statistics to <i>JSON</i> array.
+     *
+     * @param entries Collection of resolved entry points
+     * @return A <i>JSON</i> array of bean handles statistics
+     */
+    static JsonArray toBeanJson(final Collection<ResolvedEntry<?, ?, ?, ?>> entries) {
+        var array = Json.createArrayBuilder();
+        for (var e : entries) {
+            var o = Json
+                    .createObjectBuilder()
+                    .add("path", e.getEntry().getPath())
+                    .add("mapper", toJson(e.getMapperHandle()))
+                    .add("service", toJson(e.getServiceHandle()))
+                    .build();
+
+            array.add(o);
+        }
+        return array.build();
+    }
+
+    /**
+     * Convert cache statistics to <i>JSON</i> array.
+     *
+     * @param entries Collection of resolved entry points
+     * @return A <i>JSON</i> array of cache statistics
+     */
+    static JsonArray toCacheJson(final Collection<ResolvedEntry<?, ?, ?, ?>> entries) {
+        var array = Json.createArrayBuilder();
+        for (var e : entries) {
+            var o = Json
+                    .createObjectBuilder()
+                    .add("path", e.getEntry().getPath())
+                    .add("queryPlan", toJson(e.getQueryPlans()))
+                    .add("result", toJson(e.getResultCache()))
+                    .build();
+
+            array.add(o);
+        }
+        return array.build();
+    }
+
+    /**
+     * Convert token cache statistics to <i>JSON</i> object.
+     *
+     * @param cache Cache of validated tokens
+     * @return A <i>JSON</i> object of cache statistics
+     */
+    static JsonObject toJson(final TokenValidationCache cache) {
+        return Json
+                .createObjectBuilder()
+                .add("size", cache.size())
+                .add("maximumSize", cache.getMaximumSize())
+                .add("hits", cache.getHits())
+                .add("misses", cache.getMisses())
+                .add("hitRate", cache.getHitRate())
+                .build();
+    }
+
+    /**
+     * Convert to <i>JSON</i> object.
+     *
+     * @param cache Cache of compiled queries
+     * @return A <i>JSON</i> object of cache statistics
+     */
+    private static JsonObject toJson(final QueryPlanCache cache) {
+        return Json
+                .createObjectBuilder()
+                .add("enabled", cache.isEnabled())
+                .add("size", cache.size())
+                .add("maximumSize", cache.getMaximumSize())
+                .add("hits", cache.getHits())
+                .add("misses", cache.getMisses())
+                .add("hitRate", cache.getHitRate())
+                .build();
+    }
+
+    /**
+     * Convert to <i>JSON</i> object.
+     *
+     * @param cache An option of result cache
+     * @return A <i>JSON</i> object of cache statistics
+     */
+    private static JsonObject toJson(final Optional<ResultCache> cache) {
+        var builder = Json
+                .createObjectBuilder()
+                .add("enabled", cache.isPresent());
+
+        cache.ifPresent(c -> builder
+                .add("size", c.size())
+                .add("hits", c.getHits())
+                .add("misses", c.getMisses())
+        );
+        return builder.build();
+    }
+
+    /**
+     * Convert to <i>JSON</i> object.
+     *
+     * @param handle Bean handle
+     * @return A <i>JSON</i> object of bean handle statistics
+     */
+    private static JsonObject toJson(final BeanHandle<?> handle) {
+        return Json
+                .createObjectBuilder()
+                .add("type", handle.getType().getSimpleName())
+                .add("cached", handle.isCacheable())
+                .add("hits", handle.getHits())
+                .add("misses", handle.getMisses())
+                .build();
+    }
+
     /**
      * Convert to <i>JSON</i> object.
      *
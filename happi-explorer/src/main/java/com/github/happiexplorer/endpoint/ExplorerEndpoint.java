@@ -1,14 +1,25 @@
 package com.github.happiexplorer.endpoint;
 
+import com.github.happiexplorer.ExplorerException;
 import com.github.happiexplorer.ExplorerManager;
+import com.github.happiexplorer.Jsons;
+import com.github.happiexplorer.persistence.Queries;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
-import jakarta.json.JsonObject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Dynamic controller for registered entry point.
@@ -21,6 +32,11 @@ import java.util.Optional;
 @Consumes(MediaType.APPLICATION_JSON)
 public class ExplorerEndpoint {
 
+    /**
+     * Media type of newline delimited <i>JSON</i>.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     /**
      * Manager for entry point.
      */
@@ -37,6 +53,7 @@ public class ExplorerEndpoint {
 
     /**
      * Filter data with advance query parameters.
+     * With the query parameter {@code select}, the data only contain the selected attributes.
      *
      * @param info   URI information for query parameters
      * @param entity Unique path name
@@ -50,29 +67,101 @@ public class ExplorerEndpoint {
 
         var parameters = info.getQueryParameters();
         var service = this.explorerManager.invokeService(entity);
-        var paginationData = service.filter(entity, parameters);
+
+        Object paginationData;
+        if (Queries.isSelect(Queries.convertQueries(parameters))) {
+            paginationData = service.select(entity, parameters);
+        } else {
+            paginationData = service.filter(entity, parameters);
+        }
         return Response.ok(paginationData).build();
     }
 
     /**
-     * Find by identifier.
+     * Export all data filtered, as newline delimited <i>JSON</i>.
+     * The query parameters are the same as the filter, without pagination and without count.
+     * Data are read, mapped and written one by one, with a constant memory.
+     * The caller is authorized and the query parameters are checked before the response is committed.
      *
+     * @param info   URI information for query parameters
      * @param entity Unique path name
-     * @param id     Unique identifier
-     * @return The entity
+     * @return A stream of data, one <i>JSON</i> object per line
+     */
+    @GET
+    @Path("{entity}/_export")
+    @Produces(APPLICATION_NDJSON)
+    public Response export(
+            @Context final UriInfo info,
+            @PathParam("entity") final String entity) {
+
+        var parameters = info.getQueryParameters();
+        var service = this.explorerManager.invokeService(entity);
+        service.checkExport(entity, parameters);
+
+        StreamingOutput output = stream -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            try {
+                service.export(entity, parameters, d -> {
+                    try {
+                        writer.write(Jsons.parse(d));
+                        writer.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        };
+        return Response.ok(output).build();
+    }
+
+    /**
+     * Find by identifier.
+     * If the entity has a version, the response has an entity tag.
+     * Only a conditional request reads the version before the entity,
+     * so that it is answered without reading the entity.
+     *
+     * @param request   Current request, for preconditions
+     * @param entity    Unique path name
+     * @param id        Unique identifier
+     * @param match     Expected entity tags, from the header {@code If-Match}
+     * @param noneMatch Known entity tags, from the header {@code If-None-Match}
+     * @return The entity, or not modified
      */
     @GET
     @Path("{entity}/{id}")
     public Response find(
+            @Context final Request request,
             @PathParam("entity") final String entity,
-            @PathParam("id") final String id) {
+            @PathParam("id") final String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) final String match,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) final String noneMatch) {
 
         var service = this.explorerManager.invokeService(entity);
-        var data = service.find(entity, id);
 
-        return data
-                .map(d -> Response.ok(d).build())
-                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+        Optional<Response.ResponseBuilder> precondition;
+        if (Objects.nonNull(match) || Objects.nonNull(noneMatch)) {
+            precondition = service
+                    .version(entity, id)
+                    .map(EntityTag::new)
+                    .flatMap(t -> Optional.ofNullable(request.evaluatePreconditions(t)).map(b -> b.tag(t)));
+        } else {
+            precondition = Optional.empty();
+        }
+
+        Response result;
+        if (precondition.isPresent()) {
+            result = precondition.get().build();
+        } else {
+            var tag = new AtomicReference<EntityTag>();
+            result = service
+                    .find(entity, id, v -> tag.set(new EntityTag(v)))
+                    .map(d -> Response.ok(d).tag(tag.get()).build())
+                    .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+        }
+        return result;
     }
 
     /**
@@ -80,7 +169,7 @@ public class ExplorerEndpoint {
      *
      * @param info     URI context information
      * @param entity   Unique path name
-     * @param document <i>JSON</i> objet corresponding to the data transfer object
+     * @param document <i>JSON</i> stream corresponding to the data transfer object
      * @return The location of the new entity created
      */
     @POST
@@ -88,7 +177,7 @@ public class ExplorerEndpoint {
     public Response create(
             @Context final UriInfo info,
             @PathParam("entity") final String entity,
-            final JsonObject document) {
+            final InputStream document) {
 
         var service = explorerManager.invokeService(entity);
         var id = service.create(entity, document);
@@ -101,24 +190,60 @@ public class ExplorerEndpoint {
         return Response.created(uri).build();
     }
 
+    /**
+     * Create, update or delete many entities.
+     * The body is a <i>JSON</i> array of items, or newline delimited <i>JSON</i> with an item per line.
+     * Items are read one by one, and applied by chunks.
+     *
+     * @param headers  <i>HTTP</i> headers for the content type
+     * @param entity   Unique path name
+     * @param document Stream of items
+     * @return The report with the result of each item
+     */
+    @POST
+    @Path("{entity}/_bulk")
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
+    public Response bulk(
+            @Context final HttpHeaders headers,
+            @PathParam("entity") final String entity,
+            final InputStream document) {
+
+        var lines = Optional
+                .ofNullable(headers.getMediaType())
+                .map(t -> t.isCompatible(MediaType.valueOf(APPLICATION_NDJSON)))
+                .orElse(Boolean.FALSE);
+
+        var documents = lines ? Jsons.parseLines(document) : Jsons.parseArray(document);
+
+        var service = explorerManager.invokeService(entity);
+        var bulkData = service.bulk(entity, documents);
+        return Response.ok(bulkData).build();
+    }
+
     /**
      * Update an entity.
+     * With the header {@code If-Match}, the entity is updated only if its version is unchanged.
      *
      * @param entity   Unique path name
      * @param id       Unique identifier
-     * @param document <i>JSON</i> objet corresponding to the data transfer object
-     * @return No content
+     * @param match    Expected entity tags, from the header {@code If-Match}
+     * @param document <i>JSON</i> stream corresponding to the data transfer object
+     * @return No content, with the new entity tag
      */
     @PUT
     @Path("{entity}/{id}")
     public Response update(
             @PathParam("entity") final String entity,
             @PathParam("id") final String id,
-            final JsonObject document) {
+            @HeaderParam(HttpHeaders.IF_MATCH) final String match,
+            final InputStream document) {
 
         var service = explorerManager.invokeService(entity);
-        service.update(entity, document, id);
-        return Response.noContent().build();
+        var version = service.update(entity, document, id, parseVersions(match));
+        return Response
+                .noContent()
+                .tag(version.map(EntityTag::new).orElse(null))
+                .build();
     }
 
     /**
@@ -196,5 +321,38 @@ public class ExplorerEndpoint {
         return result.build();
     }
 
-
+    /**
+     * Parse the versions of a list of entity tags, like {@code "1", W/"2"}.
+     * Weak entity tags are ignored, the header {@code If-Match} uses the strong comparison.
+     *
+     * @param match Value of the header {@code If-Match}
+     * @return The versions, or {@code null} if any version is accepted
+     * @throws ExplorerException If an entity tag is invalid
+     */
+    private static Set<String> parseVersions(final String match) {
+        Set<String> versions;
+        if (Objects.isNull(match) || match.isBlank() || Objects.equals(match.strip(), "*")) {
+            versions = null;
+        } else {
+            versions = new HashSet<>();
+            var i = 0;
+            while (i < match.length()) {
+                var c = match.charAt(i);
+                if (c == ',' || Character.isWhitespace(c)) {
+                    i++;
+                } else {
+                    var weak = match.startsWith("W/", i);
+                    var start = weak ? i + 2 : i;
+                    var end = start < match.length() && match.charAt(start) == '"' ? match.indexOf('"', start + 1) : -1;
+                    if (end < 0) {
+                        throw new ExplorerException("Invalid entity tag : " + match);
+                    } else if (!weak) {
+                        versions.add(match.substring(start + 1, end));
+                    }
+                    i = end + 1;
+                }
+            }
+        }
+        return versions;
+    }
 }
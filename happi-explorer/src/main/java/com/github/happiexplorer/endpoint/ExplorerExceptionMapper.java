@@ -1,7 +1,11 @@
 package com.github.happiexplorer.endpoint;
 
 import com.github.happiexplorer.ExplorerException;
+import com.github.happiexplorer.Jsons;
 import com.github.happiexplorer.ValidationException;
+import com.github.happiexplorer.service.BulkConflictException;
+import com.github.happiexplorer.service.EntityConflictException;
+import com.github.happiexplorer.service.VersionConflictException;
 import jakarta.json.Json;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -10,6 +14,7 @@ import jakarta.ws.rs.ext.Provider;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 /**
  * Generic exception mapper for this module.
@@ -48,8 +53,21 @@ public final class ExplorerExceptionMapper implements ExceptionMapper<ExplorerEx
             json.add("violations", violations.build());
         }
 
+        if (exception instanceof BulkConflictException conflict && Objects.nonNull(conflict.getBulkData())) {
+            json.add("bulk", Jsons.parse(Jsons.parse(conflict.getBulkData())));
+        }
+
+        Response.Status status;
+        if (exception instanceof VersionConflictException) {
+            status = Response.Status.PRECONDITION_FAILED;
+        } else if (exception instanceof EntityConflictException) {
+            status = Response.Status.CONFLICT;
+        } else {
+            status = Response.Status.BAD_REQUEST;
+        }
+
         return Response
-                .status(Response.Status.BAD_REQUEST)
+                .status(status)
                 .type(MediaType.APPLICATION_JSON_TYPE)
                 .entity(json.build())
                 .build();
@@ -2,13 +2,13 @@ package com.github.happiexplorer.endpoint;
 
 import com.github.happiexplorer.ExplorerManager;
 import com.github.happiexplorer.security.HappiSecurityManager;
+import com.github.happiexplorer.security.TokenValidationCache;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
-import java.util.Objects;
 
 /**
  * Basic controller exposing registered dynamic entry.
@@ -32,6 +32,12 @@ public class ManagerEndpoint {
     @Inject
     private ExplorerManager explorerManager;
 
+    /**
+     * Cache of validated tokens.
+     */
+    @Inject
+    private TokenValidationCache tokenCache;
+
     /**
      * Default constructor.
      * This class is injectable, don't call this constructor explicitly.
@@ -54,6 +60,47 @@ public class ManagerEndpoint {
         return Response.ok(document).build();
     }
 
+    /**
+     * Show bean handles statistics of all registered entries.
+     *
+     * @return A <i>JSON</i> array of bean handles statistics
+     */
+    @GET
+    @Path("bean")
+    public Response beans() {
+        checkIfEndpointEnable();
+        var entries = this.explorerManager.resolvedEntries();
+        var document = DynamicEntryMapper.toBeanJson(entries);
+        return Response.ok(document).build();
+    }
+
+    /**
+     * Show cache statistics of all registered entries.
+     *
+     * @return A <i>JSON</i> array of cache statistics
+     */
+    @GET
+    @Path("cache")
+    public Response caches() {
+        checkIfEndpointEnable();
+        var entries = this.explorerManager.resolvedEntries();
+        var document = DynamicEntryMapper.toCacheJson(entries);
+        return Response.ok(document).build();
+    }
+
+    /**
+     * Show statistics of the validated tokens cache.
+     *
+     * @return A <i>JSON</i> object of cache statistics
+     */
+    @GET
+    @Path("token")
+    public Response tokens() {
+        checkIfEndpointEnable();
+        var document = DynamicEntryMapper.toJson(this.tokenCache);
+        return Response.ok(document).build();
+    }
+
     /**
      * Show all registered roles.
      *
@@ -73,10 +120,7 @@ public class ManagerEndpoint {
      * @throws ForbiddenException if this endpoint is disabled
      */
     private void checkIfEndpointEnable() {
-        var permission = this.securityManager
-                .getConfiguration(HappiSecurityManager.Configuration.MANAGER_ENDPOINT);
-
-        if (Objects.equals(Boolean.parseBoolean(permission), Boolean.FALSE)) {
+        if (!this.securityManager.getConfiguration().isManagerEndpoint()) {
             throw new ForbiddenException();
         }
     }
@@ -0,0 +1,102 @@
+package com.github.happiexplorer.endpoint;
+
+import com.github.happiexplorer.Jsons;
+import com.github.happiexplorer.service.PaginationData;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Streaming writer for a pagination object.
+ * The fields are written directly, and each data item is serialized to the response stream,
+ * without copying the page or building an intermediate <i>JSON</i> document.
+ * The fields are written in the lexicographical order, like the <i>JSON-B</i> order of {@link PaginationData}.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public final class PaginationDataWriter implements MessageBodyWriter<PaginationData<?>> {
+
+    /**
+     * Default constructor.
+     * This class is injectable, don't call this constructor explicitly.
+     */
+    public PaginationDataWriter() {
+        // NO-OP
+    }
+
+    @Override
+    public boolean isWriteable(
+            final Class<?> type,
+            final Type genericType,
+            final Annotation[] annotations,
+            final MediaType mediaType) {
+
+        return PaginationData.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(
+            final PaginationData<?> paginationData,
+            final Class<?> type,
+            final Type genericType,
+            final Annotation[] annotations,
+            final MediaType mediaType,
+            final MultivaluedMap<String, Object> httpHeaders,
+            final OutputStream entityStream) throws IOException {
+
+        var output = new FilterOutputStream(entityStream) {
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                this.flush();
+            }
+        };
+
+        var jsonb = Jsons.jsonb();
+        write(output, "{\"data\":[");
+        var first = true;
+        for (var d : paginationData.getData()) {
+            if (!first) {
+                write(output, ",");
+            }
+            jsonb.toJson(d, output);
+            first = false;
+        }
+        write(output, "],\"hasMore\":" + paginationData.isHasMore());
+        if (Objects.nonNull(paginationData.getNext())) {
+            write(output, ",\"next\":" + jsonb.toJson(paginationData.getNext()));
+        }
+        write(output, ",\"pageCount\":" + paginationData.getPageCount());
+        write(output, ",\"pageNumber\":" + paginationData.getPageNumber());
+        write(output, ",\"pageSize\":" + paginationData.getPageSize());
+        write(output, ",\"size\":" + paginationData.getSize());
+        write(output, ",\"sizeExact\":" + paginationData.isSizeExact());
+        write(output, "}");
+        output.flush();
+    }
+
+    /**
+     * Write a raw <i>JSON</i> fragment.
+     *
+     * @param output   Response stream
+     * @param fragment Raw <i>JSON</i> fragment
+     * @throws IOException If the stream cannot be written
+     */
+    private static void write(final OutputStream output, final String fragment) throws IOException {
+        output.write(fragment.getBytes(StandardCharsets.UTF_8));
+    }
+}
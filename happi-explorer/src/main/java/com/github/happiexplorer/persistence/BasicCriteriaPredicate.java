@@ -1,17 +1,21 @@
 package com.github.happiexplorer.persistence;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.metamodel.Attribute;
 
 import java.text.Normalizer;
-import java.util.Objects;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.function.BiFunction;
 
 /**
  * Function for construct a database query with {@link FilterQuery}.
+ * Values are never written in the query, they are bound to parameters,
+ * so that a query can be reused with other values.
  *
  * @param <X> Type of persistent entity for root clause
  */
@@ -21,342 +25,394 @@ interface BasicCriteriaPredicate<X> {
     /**
      * Create a predicate with {@link FilterQuery} data.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values of the query, see {@link #bindableValues(FilterQuery)}
      * @return A predicate with {@link FilterQuery} data
      */
-    Predicate toPredicate(CriteriaBuilder builder, Root<X> root, FilterQuery query);
+    Predicate toPredicate(
+            CriteriaBuilder builder,
+            Root<X> root,
+            FilterQuery query,
+            Map<WebOperator, List<Expression<?>>> parameters
+    );
+
+    /**
+     * Get the raw values bound to parameters for a query, by web operator.
+     *
+     * @param query Current query
+     * @return Raw values by web operator
+     */
+    static Map<WebOperator, List<String>> bindableValues(final FilterQuery query) {
+        Map<WebOperator, List<String>> values;
+        if (query.isKeywordQuery()) {
+            values = Map.of(WebOperator.AND, List.of(query.getSingleValue()));
+        } else if (query.getOperator() == Operator.BETWEEN || query.getOperator() == Operator.NOT_BETWEEN) {
+            values = Map.of(WebOperator.AND, List.of(query.getBetweenFirstValue(), query.getBetweenSecondValue()));
+        } else {
+            values = query.getValues();
+        }
+        return values;
+    }
+
+    /**
+     * Convert a raw value to the value bound to a parameter.
+     *
+     * @param type     Attribut type
+     * @param query    Current query
+     * @param rawValue Raw value
+     * @return The value bound to a parameter
+     */
+    static Object bindValue(final Class<?> type, final FilterQuery query, final String rawValue) {
+        Object value;
+        if (query.isKeywordQuery()) {
+            value = stripAccent(rawValue);
+        } else if (query.getOperator() == Operator.LIKE || query.getOperator() == Operator.NOT_LIKE) {
+            value = "%" + stripAccent(rawValue.toLowerCase()) + "%";
+        } else {
+            value = Queries.asValue(type, rawValue);
+        }
+        return value;
+    }
+
+    /**
+     * Get the parameter type for a query.
+     *
+     * @param type  Attribut type
+     * @param query Current query
+     * @return The parameter type
+     */
+    static Class<?> bindType(final Class<?> type, final FilterQuery query) {
+        Class<?> bindType;
+        if (query.isKeywordQuery()
+                || query.getOperator() == Operator.LIKE
+                || query.getOperator() == Operator.NOT_LIKE) {
+
+            bindType = String.class;
+        } else {
+            bindType = type;
+        }
+        return bindType;
+    }
 
     /**
      * Create an <b>EQUAL</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate equal(
+    static <X> Predicate equal(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
-
-        var attribute = root.<V>get(query.getName());
-        var type = attribute.getModel().getBindableJavaType();
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
-        return Stream.of(query)
-                .flatMap(q -> Queries.asValues(type, q).entrySet().stream())
-                .map(e -> e.getValue()
-                        .stream()
-                        .map(v -> builder.equal(attribute, v))
-                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
-                )
-                .flatMap(Optional::stream)
-                .reduce(builder::and)
-                .orElseGet(() -> builder.isNull(attribute));
+        var attribute = root.get(query.getName());
+        return reduce(builder, attribute, parameters, builder::equal);
     }
 
     /**
      * Create an <b>NOT EQUAL</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate notEqual(
+    static <X> Predicate notEqual(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
-        return BasicCriteriaPredicate.equal(builder, root, query).not();
+        return BasicCriteriaPredicate.equal(builder, root, query, parameters).not();
     }
 
     /**
      * Create a <b>LIKE</b> <i>JPA</i> criteria predicate.
+     * Case-insensitive and ignore accent.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
     static <X> Predicate like(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
         var attribute = root.<String>get(query.getName());
-
-        return Stream.of(query)
-                .flatMap(q -> Queries.asValues(String.class, q).entrySet().stream())
-                .map(e -> e.getValue()
-                        .stream()
-                        .map(v -> String.valueOf(v).toLowerCase())
-                        .map(BasicCriteriaPredicate::stripAccent)
-                        .map(v -> "%" + v + "%")
-                        .map(v -> builder.like(builder.lower(attribute), v))
-                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
-                )
-                .flatMap(Optional::stream)
-                .reduce(builder::and)
-                .orElseGet(() -> builder.isNull(attribute));
+        var lower = builder.lower(attribute);
+        return reduce(builder, attribute, parameters, (a, p) -> builder.like(lower, (Expression<String>) p));
     }
 
     /**
      * Create a <b>NOT LIKE</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
     static <X> Predicate notLike(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
-        return BasicCriteriaPredicate.like(builder, root, query).not();
+        return BasicCriteriaPredicate.like(builder, root, query, parameters).not();
     }
 
     /**
      * Create a <b>GREATER THAN</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
+     * @param <V>        Type of attribut
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate greaterThan(
+    static <X, V extends Comparable<? super V>> Predicate greaterThan(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
         var attribute = root.<V>get(query.getName());
-        var type = attribute.getModel().getBindableJavaType();
-
-        return Stream.of(query)
-                .flatMap(q -> Queries.asValues(type, q).entrySet().stream())
-                .map(e -> e.getValue()
-                        .stream()
-                        .map(v -> builder.greaterThan(attribute, v))
-                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
-                )
-                .flatMap(Optional::stream)
-                .reduce(builder::and)
-                .orElseGet(() -> builder.isNull(attribute));
+        return reduce(builder, attribute, parameters, (a, p) -> builder.greaterThan(attribute, (Expression<V>) p));
     }
 
     /**
      * Create a <b>GREATER THAN OR EQUAL</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
+     * @param <V>        Type of attribut
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate greaterThanOrEqual(
+    static <X, V extends Comparable<? super V>> Predicate greaterThanOrEqual(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
         var attribute = root.<V>get(query.getName());
-        var type = attribute.getModel().getBindableJavaType();
-
-        return Stream.of(query)
-                .flatMap(q -> Queries.asValues(type, q).entrySet().stream())
-                .map(e -> e.getValue()
-                        .stream()
-                        .map(v -> builder.greaterThanOrEqualTo(attribute, v))
-                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
-                )
-                .flatMap(Optional::stream)
-                .reduce(builder::and)
-                .orElseGet(() -> builder.isNull(attribute));
+        return reduce(builder, attribute, parameters, (a, p) -> builder.greaterThanOrEqualTo(attribute, (Expression<V>) p));
     }
 
     /**
      * Create a <b>LESS THAN</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
+     * @param <V>        Type of attribut
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate lessThan(
+    static <X, V extends Comparable<? super V>> Predicate lessThan(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
         var attribute = root.<V>get(query.getName());
-        var type = attribute.getModel().getBindableJavaType();
-
-        return Stream.of(query)
-                .flatMap(q -> Queries.asValues(type, q).entrySet().stream())
-                .map(e -> e.getValue()
-                        .stream()
-                        .map(v -> builder.lessThan(attribute, v))
-                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
-                )
-                .flatMap(Optional::stream)
-                .reduce(builder::and)
-                .orElseGet(() -> builder.isNull(attribute));
+        return reduce(builder, attribute, parameters, (a, p) -> builder.lessThan(attribute, (Expression<V>) p));
     }
 
     /**
      * Create a <b>LESS THAN OR EQUAL</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
+     * @param <V>        Type of attribut
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate lessThanOrEqual(
+    static <X, V extends Comparable<? super V>> Predicate lessThanOrEqual(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
         var attribute = root.<V>get(query.getName());
-        var type = attribute.getModel().getBindableJavaType();
-
-        return Stream.of(query)
-                .flatMap(q -> Queries.asValues(type, q).entrySet().stream())
-                .map(e -> e.getValue()
-                        .stream()
-                        .map(v -> builder.lessThanOrEqualTo(attribute, v))
-                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
-                )
-                .flatMap(Optional::stream)
-                .reduce(builder::and)
-                .orElseGet(() -> builder.isNull(attribute));
+        return reduce(builder, attribute, parameters, (a, p) -> builder.lessThanOrEqualTo(attribute, (Expression<V>) p));
     }
 
     /**
      * Create an <b>IN</b> <i>JPA</i> criteria predicate.
+     * All values are in the same list, whatever the web operator.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate in(
+    static <X> Predicate in(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
-        var attribute = root.<V>get(query.getName());
-        return attribute.in(query.getValues());
+        var attribute = root.get(query.getName());
+        var values = parameters
+                .values()
+                .stream()
+                .flatMap(Collection::stream)
+                .toArray(Expression[]::new);
+
+        return attribute.in(values);
     }
 
     /**
      * Create a <b>NOT IN</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate notIn(
+    static <X> Predicate notIn(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
-        return BasicCriteriaPredicate.in(builder, root, query).not();
+        return BasicCriteriaPredicate.in(builder, root, query, parameters).not();
     }
 
     /**
      * Create a <b>BETWEEN</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
+     * @param <V>        Type of attribut
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate between(
+    static <X, V extends Comparable<? super V>> Predicate between(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
         var attribute = root.<V>get(query.getName());
-        var type = attribute.getModel().getBindableJavaType();
+        var between = parameters.get(WebOperator.AND);
 
         return builder.between(
                 attribute,
-                Queries.asValue(type, query.getBetweenFirstValue()),
-                Queries.asValue(type, query.getBetweenSecondValue())
+                (Expression<V>) between.get(0),
+                (Expression<V>) between.get(1)
         );
     }
 
     /**
      * Create a <b>NOT BETWEEN</b> <i>JPA</i> criteria predicate.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
-     * @param <V>     Type of attribut
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Current query
+     * @param parameters Parameters for the values
+     * @param <X>        Type of persistent entity for root clause
+     * @param <V>        Type of attribut
      * @return A predicate with {@link FilterQuery} data
      */
-    static <X, V extends Comparable<V>> Predicate notBetween(
+    static <X, V extends Comparable<? super V>> Predicate notBetween(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final Map<WebOperator, List<Expression<?>>> parameters) {
 
-        return BasicCriteriaPredicate.between(builder, root, query).not();
+        return BasicCriteriaPredicate.<X, V>between(builder, root, query, parameters).not();
     }
 
     /**
-     * Create a keyword search <i>JPA</i> criteria predicate.
-     * The query filter only in string entity attribute.
+     * Create a keyword <i>JPA</i> criteria predicate on all text attributes.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Current query
-     * @param <X>     Type of persistent entity for root clause
+     * @param builder          Criteria builder
+     * @param root             Root clause of database query
+     * @param parameters       Parameters for the values
+     * @param stringAttributes Attributes names of type {@link String}
+     * @param <X>              Type of persistent entity for root clause
      * @return A predicate with {@link FilterQuery} data
      */
     static <X> Predicate keyword(
             final CriteriaBuilder builder,
             final Root<X> root,
-            final FilterQuery query) {
+            final Map<WebOperator, List<Expression<?>>> parameters,
+            final List<String> stringAttributes) {
 
-        return root
-                .getModel()
-                .getAttributes()
+        var keyword = (Expression<String>) parameters.get(WebOperator.AND).get(0);
+        return stringAttributes
                 .stream()
-                .filter(a -> Objects.equals(a.getPersistentAttributeType(), Attribute.PersistentAttributeType.BASIC))
-                .filter(a -> Objects.equals(a.getJavaType(), String.class))
-                .map(a -> root.<String>get(a.getName()))
-                .map(a -> builder.like(builder.lower(a), stripAccent(query.getSingleValue())))
+                .map(root::<String>get)
+                .map(a -> builder.like(builder.lower(a), keyword))
                 .reduce(builder::and)
                 .orElseGet(builder::and);
     }
 
     /**
-     * Escape a string.
-     * Useful for {@link #keyword} method
+     * Combine the comparisons with each parameter, using the web operator.
+     * Without parameter, the attribute should be {@code null}.
+     *
+     * @param builder    Criteria builder
+     * @param attribute  Entity attribut
+     * @param parameters Parameters for the values
+     * @param comparison Comparison between the attribute and a parameter
+     * @param <V>        Type of attribut
+     * @return A predicate
+     */
+    private static <V> Predicate reduce(
+            final CriteriaBuilder builder,
+            final Expression<V> attribute,
+            final Map<WebOperator, List<Expression<?>>> parameters,
+            final BiFunction<Expression<V>, Expression<?>, Predicate> comparison) {
+
+        return parameters
+                .entrySet()
+                .stream()
+                .map(e -> e.getValue()
+                        .stream()
+                        .map(p -> comparison.apply(attribute, p))
+                        .reduce((a, v) -> e.getKey().reducer().apply(builder, a, v))
+                )
+                .flatMap(Optional::stream)
+                .reduce(builder::and)
+                .orElseGet(() -> builder.isNull(attribute));
+    }
+
+    /**
+     * Remove accents.
      *
-     * @param word Any string
-     * @return A string in lower case and accent replaced by {@code _}
+     * @param word A word
+     * @return The word without accent
      */
     private static String stripAccent(final String word) {
         return Normalizer
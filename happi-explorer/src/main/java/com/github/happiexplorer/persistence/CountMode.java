@@ -0,0 +1,51 @@
+package com.github.happiexplorer.persistence;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Counting mode of a filter query.
+ */
+public enum CountMode {
+
+    /**
+     * No count.
+     * Only useful for clients that scroll, the size is a lower bound.
+     */
+    NONE("none"),
+
+    /**
+     * Exact count.
+     * Default mode, a full count with the same predicates.
+     */
+    EXACT("exact"),
+
+    /**
+     * Estimate count.
+     * The count stops at a threshold, the size is exact only under this threshold.
+     */
+    ESTIMATE("estimate");
+
+    /**
+     * Web symbol.
+     */
+    private final String symbol;
+
+    CountMode(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Convert a web symbol to an element in this enumeration.
+     *
+     * @param symbol Web symbol
+     * @return A counting mode, {@link #EXACT} if the symbol does not match anything
+     */
+    static CountMode parse(final String symbol) {
+        return Stream
+                .of(values())
+                .filter(e -> Objects.equals(e.symbol, symbol))
+                .findFirst()
+                .orElse(CountMode.EXACT);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.happiexplorer.persistence;
+
+import com.github.happiexplorer.ExplorerException;
+import com.github.happiexplorer.Jsons;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonValue;
+
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utility for the opaque cursor of the keyset pagination.
+ * A cursor is the <i>JSON</i> array of the sorted attributes values of the last element of a page,
+ * primary key included, encoded in base 64 for URL.
+ */
+final class Cursors {
+
+    /**
+     * Internal constructor.
+     * Instance does not allow.
+     */
+    private Cursors() {
+        throw new UnsupportedOperationException("Instance not allowed");
+    }
+
+    /**
+     * Encode the cursor of an entity.
+     *
+     * @param metadata Compiled entity metadata
+     * @param keys     Sorted attributes, primary key included
+     * @param entity   Last entity of a page
+     * @param <E>      Type of persistent entity
+     * @return An opaque cursor
+     */
+    static <E> String encode(
+            final EntityMetadata<E> metadata,
+            final Map<String, Boolean> keys,
+            final E entity) {
+
+        var values = new ArrayList<>();
+        for (var k : keys.keySet()) {
+            values.add(metadata.getAttributeValue(entity, k));
+        }
+
+        var json = Jsons.parse((Object) values);
+        return Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor to the sorted attributes values.
+     *
+     * @param metadata Compiled entity metadata
+     * @param keys     Sorted attributes, primary key included
+     * @param cursor   Opaque cursor
+     * @param <E>      Type of persistent entity
+     * @return The values in the order of the sorted attributes, empty if the cursor is blank
+     * @throws ExplorerException If the cursor is invalid
+     */
+    static <E> List<Object> decode(
+            final EntityMetadata<E> metadata,
+            final Map<String, Boolean> keys,
+            final String cursor) {
+
+        List<Object> values;
+        if (cursor.isBlank()) {
+            values = List.of();
+        } else {
+            values = new ArrayList<>();
+            try {
+                var json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                var array = Jsons.jsonb().fromJson(json, JsonArray.class);
+                if (array.size() != keys.size()) {
+                    throw new ExplorerException("Invalid cursor : " + cursor);
+                }
+
+                var index = 0;
+                for (var k : keys.keySet()) {
+                    var element = array.get(index++);
+                    if (Objects.equals(element.getValueType(), JsonValue.ValueType.NULL)) {
+                        values.add(null);
+                    } else {
+                        var type = MethodType.methodType(metadata.getBasicAttributes().get(k)).wrap().returnType();
+                        values.add(Jsons.jsonb().fromJson(element.toString(), type));
+                    }
+                }
+            } catch (ExplorerException ex) {
+                throw ex;
+            } catch (RuntimeException ex) {
+                throw new ExplorerException("Invalid cursor : " + cursor, ex);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,315 @@
+package com.github.happiexplorer.persistence;
+
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compiled metadata of a persistent entity.
+ * Built once from the <i>JPA</i> metamodel, so that queries do not traverse the metamodel.
+ *
+ * @param <E> Type of persistent entity
+ */
+public final class EntityMetadata<E> {
+
+    /**
+     * Entity class.
+     */
+    private final Class<E> entityClass;
+
+    /**
+     * Unique identifier attribute, {@code null} if the entity uses an {@code @IdClass}.
+     */
+    private final SingularAttribute<? super E, ?> idAttribute;
+
+    /**
+     * Unique identifier type.
+     */
+    private final Class<?> idType;
+
+    /**
+     * Unique identifier attributes names, several if the entity uses an {@code @IdClass}.
+     */
+    private final List<String> idAttributes;
+
+    /**
+     * Version attribute name, {@code null} if the entity has no {@code @Version} attribute.
+     */
+    private final String versionAttribute;
+
+    /**
+     * Basic attributes types indexed by name.
+     */
+    private final Map<String, Class<?>> basicAttributes;
+
+    /**
+     * Basic attributes names of type {@link String}.
+     */
+    private final List<String> stringAttributes;
+
+    /**
+     * Basic attributes accessors indexed by name, field or getter.
+     */
+    private final Map<String, Member> accessors;
+
+    /**
+     * Association attributes names, to one or to many.
+     */
+    private final Set<String> associationAttributes;
+
+    /**
+     * Association attributes names, to one only.
+     */
+    private final Set<String> singularAssociationAttributes;
+
+    /**
+     * Entity classes of the associations, to one or to many.
+     */
+    private final Set<Class<?>> associationClasses;
+
+    /**
+     * Internal constructor.
+     * Use the factory method {@link EntityMetadata#of(EntityType)}.
+     *
+     * @param entityClass           Entity class
+     * @param idAttribute           Unique identifier attribute
+     * @param idType                Unique identifier type
+     * @param idAttributes          Unique identifier attributes names
+     * @param versionAttribute      Version attribute name
+     * @param basicAttributes       Basic attributes types indexed by name
+     * @param stringAttributes      Basic attributes names of type {@link String}
+     * @param accessors             Basic attributes accessors indexed by name
+     * @param associationAttributes Association attributes names
+     * @param singularAssociations  Association attributes names, to one only
+     * @param associationClasses    Entity classes of the associations
+     */
+    private EntityMetadata(
+            final Class<E> entityClass,
+            final SingularAttribute<? super E, ?> idAttribute,
+            final Class<?> idType,
+            final List<String> idAttributes,
+            final String versionAttribute,
+            final Map<String, Class<?>> basicAttributes,
+            final List<String> stringAttributes,
+            final Map<String, Member> accessors,
+            final Set<String> associationAttributes,
+            final Set<String> singularAssociations,
+            final Set<Class<?>> associationClasses) {
+
+        this.entityClass = entityClass;
+        this.idAttribute = idAttribute;
+        this.idType = idType;
+        this.idAttributes = List.copyOf(idAttributes);
+        this.versionAttribute = versionAttribute;
+        this.basicAttributes = Map.copyOf(basicAttributes);
+        this.stringAttributes = List.copyOf(stringAttributes);
+        this.accessors = Map.copyOf(accessors);
+        this.associationAttributes = Set.copyOf(associationAttributes);
+        this.singularAssociationAttributes = Set.copyOf(singularAssociations);
+        this.associationClasses = Set.copyOf(associationClasses);
+    }
+
+    /**
+     * Compile the metadata of an entity.
+     *
+     * @param entityType Entity type from the <i>JPA</i> metamodel
+     * @param <E>        Type of persistent entity
+     * @return The compiled metadata
+     */
+    static <E> EntityMetadata<E> of(final EntityType<E> entityType) {
+
+        var idType = entityType.getIdType().getJavaType();
+        SingularAttribute<? super E, ?> idAttribute;
+        List<String> idAttributes;
+        if (entityType.hasSingleIdAttribute()) {
+            idAttribute = entityType.getId(idType);
+            idAttributes = List.of(idAttribute.getName());
+        } else {
+            idAttribute = null;
+            idAttributes = entityType
+                    .getIdClassAttributes()
+                    .stream()
+                    .map(Attribute::getName)
+                    .sorted()
+                    .toList();
+        }
+
+        String versionAttribute = null;
+        for (var a : entityType.getSingularAttributes()) {
+            if (a.isVersion()) {
+                versionAttribute = a.getName();
+            }
+        }
+
+        var basicAttributes = new HashMap<String, Class<?>>();
+        var stringAttributes = new ArrayList<String>();
+        var accessors = new HashMap<String, Member>();
+        var associationAttributes = new HashSet<String>();
+        var singularAssociations = new HashSet<String>();
+        var associationClasses = new HashSet<Class<?>>();
+        for (var a : entityType.getAttributes()) {
+            if (a.isAssociation()) {
+                associationAttributes.add(a.getName());
+            }
+            if (a.isAssociation() && a instanceof PluralAttribute<?, ?, ?> p) {
+                associationClasses.add(p.getElementType().getJavaType());
+            } else if (a.isAssociation()) {
+                associationClasses.add(a.getJavaType());
+            }
+            if (a.isAssociation() && !a.isCollection()) {
+                singularAssociations.add(a.getName());
+            }
+            if (Objects.equals(a.getPersistentAttributeType(), Attribute.PersistentAttributeType.BASIC)) {
+                basicAttributes.put(a.getName(), a.getJavaType());
+                if (a.getJavaMember() instanceof Field || a.getJavaMember() instanceof Method) {
+                    accessors.put(a.getName(), a.getJavaMember());
+                }
+                if (Objects.equals(a.getJavaType(), String.class)) {
+                    stringAttributes.add(a.getName());
+                }
+            }
+        }
+
+        return new EntityMetadata<>(
+                entityType.getJavaType(),
+                idAttribute,
+                idType,
+                idAttributes,
+                versionAttribute,
+                basicAttributes,
+                stringAttributes,
+                accessors,
+                associationAttributes,
+                singularAssociations,
+                associationClasses
+        );
+    }
+
+    /**
+     * Check if an attribute is a basic attribute of this entity.
+     *
+     * @param name Attribute name
+     * @return The value {@code true} if the attribute is a basic attribute, otherwise the value {@code false} is returned
+     */
+    public boolean isBasicAttribute(final String name) {
+        return Objects.nonNull(name) && this.basicAttributes.containsKey(name);
+    }
+
+    /**
+     * Check if an attribute is an association of this entity, to one or to many.
+     *
+     * @param name Attribute name
+     * @return The value {@code true} if the attribute is an association, otherwise the value {@code false} is returned
+     */
+    public boolean isAssociationAttribute(final String name) {
+        return Objects.nonNull(name) && this.associationAttributes.contains(name);
+    }
+
+    /**
+     * Check if an attribute is an association of this entity, to one only.
+     *
+     * @param name Attribute name
+     * @return The value {@code true} if the attribute is a singular association, otherwise the value {@code false} is returned
+     */
+    public boolean isSingularAssociationAttribute(final String name) {
+        return Objects.nonNull(name) && this.singularAssociationAttributes.contains(name);
+    }
+
+    /**
+     * Check if this entity has a {@code @Version} attribute.
+     *
+     * @return The value {@code true} if the entity is versioned, otherwise the value {@code false} is returned
+     */
+    public boolean isVersioned() {
+        return Objects.nonNull(this.versionAttribute);
+    }
+
+    /**
+     * Read the value of a basic attribute from an entity.
+     *
+     * @param entity Persistent entity
+     * @param name   Attribute name
+     * @return The attribute value
+     * @throws PersistenceException If the attribute can not be read
+     */
+    public Object getAttributeValue(final E entity, final String name) {
+        var member = this.accessors.get(name);
+        try {
+            Object value;
+            if (member instanceof Field f) {
+                f.trySetAccessible();
+                value = f.get(entity);
+            } else if (member instanceof Method m) {
+                m.trySetAccessible();
+                value = m.invoke(entity);
+            } else {
+                throw new PersistenceException("No accessor found for attribut: " + name + " in class: " + entityClass);
+            }
+            return value;
+        } catch (ReflectiveOperationException ex) {
+            throw new PersistenceException("Can not read attribut: " + name + " in class: " + entityClass, ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{entityClass=").append(entityClass)
+                .append(", idType=").append(idType)
+                .append(", versionAttribute=").append(versionAttribute)
+                .append(", basicAttributes=").append(basicAttributes.keySet())
+                .append(", associationAttributes=").append(associationAttributes)
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    public Class<E> getEntityClass() {
+        return entityClass;
+    }
+
+    public SingularAttribute<? super E, ?> getIdAttribute() {
+        return idAttribute;
+    }
+
+    public Class<?> getIdType() {
+        return idType;
+    }
+
+    public List<String> getIdAttributes() {
+        return idAttributes;
+    }
+
+    public String getVersionAttribute() {
+        return versionAttribute;
+    }
+
+    public Map<String, Class<?>> getBasicAttributes() {
+        return basicAttributes;
+    }
+
+    public List<String> getStringAttributes() {
+        return stringAttributes;
+    }
+
+    public Set<String> getAssociationAttributes() {
+        return associationAttributes;
+    }
+
+    public Set<Class<?>> getAssociationClasses() {
+        return associationClasses;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.happiexplorer.persistence;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of compiled entity metadata.
+ * Metadata are compiled when an entry point is registered,
+ * an unknown entity class is compiled on first use.
+ */
+@ApplicationScoped
+public class EntityMetadataRegistry {
+
+    /**
+     * Compiled metadata indexed by entity class.
+     */
+    private final Map<Class<?>, EntityMetadata<?>> metadata;
+
+    /**
+     * Default entity manager.
+     */
+    @Inject
+    private transient EntityManager em;
+
+    /**
+     * Default constructor.
+     * This class is injectable, don't call this constructor explicitly.
+     */
+    public EntityMetadataRegistry() {
+        this.metadata = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Compile and register the metadata of an entity class.
+     *
+     * @param entityClass Entity class
+     * @param <E>         Type of persistent entity
+     * @return The compiled metadata
+     */
+    public <E> EntityMetadata<E> register(final Class<E> entityClass) {
+        var entityMetadata = this.compile(entityClass);
+        this.metadata.put(entityClass, entityMetadata);
+        return entityMetadata;
+    }
+
+    /**
+     * Get the compiled metadata of an entity class.
+     *
+     * @param entityClass Entity class
+     * @param <E>         Type of persistent entity
+     * @return The compiled metadata
+     */
+    public <E> EntityMetadata<E> get(final Class<E> entityClass) {
+        return (EntityMetadata<E>) this.metadata.computeIfAbsent(entityClass, this::compile);
+    }
+
+    /**
+     * Compile the metadata of an entity class using the <i>JPA</i> metamodel.
+     *
+     * @param entityClass Entity class
+     * @param <E>         Type of persistent entity
+     * @return The compiled metadata
+     */
+    private <E> EntityMetadata<E> compile(final Class<E> entityClass) {
+        var entityType = this.em.getMetamodel().entity(entityClass);
+        return EntityMetadata.of(entityType);
+    }
+}
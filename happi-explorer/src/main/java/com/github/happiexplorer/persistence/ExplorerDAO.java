@@ -1,20 +1,31 @@
 package com.github.happiexplorer.persistence;
 
 
+import com.github.happiexplorer.ExplorerException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.ParameterExpression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.criteria.Selection;
 import jakarta.persistence.metamodel.SingularAttribute;
 
+import java.lang.invoke.MethodType;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -23,12 +34,69 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class ExplorerDAO {
 
+    /**
+     * Disabled cache of compiled queries, each query is compiled.
+     */
+    private static final QueryPlanCache NO_PLAN_CACHE = QueryPlanCache.of(0);
+
+    /**
+     * Query hint for a load graph.
+     */
+    private static final String LOAD_GRAPH_HINT = "jakarta.persistence.loadgraph";
+
+    /**
+     * <i>SQL</i> state class of the integrity constraint violations.
+     */
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    /**
+     * Standard <i>SQL</i> state of a unique constraint violation.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Vendor error codes of a unique constraint violation, for databases using the generic <i>SQL</i> state {@code 23000}:
+     * Oracle {@code 1}, MySQL and MariaDB {@code 1062} and {@code 1586}, SQL Server {@code 2601} and {@code 2627}.
+     */
+    private static final Set<Integer> UNIQUE_VIOLATION_CODES = Set.of(1, 1062, 1586, 2601, 2627);
+
+    /**
+     * Query hints for the <i>JDBC</i> fetch size, by persistence provider.
+     * A hint unknown by the provider is ignored.
+     */
+    private static final List<String> FETCH_SIZE_HINTS = List.of(
+            "org.hibernate.fetchSize",
+            "eclipselink.jdbc.fetch-size",
+            "openjpa.FetchPlan.FetchBatchSize"
+    );
+
+    /**
+     * Query hints for read only entities, by persistence provider.
+     * A hint unknown by the provider is ignored.
+     */
+    private static final List<String> READ_ONLY_HINTS = List.of(
+            "org.hibernate.readOnly",
+            "eclipselink.read-only"
+    );
+
     /**
      * Default entity manager.
      */
     @Inject
     private transient EntityManager em;
 
+    /**
+     * Compiled entity metadata.
+     */
+    @Inject
+    private EntityMetadataRegistry metadataRegistry;
+
+    /**
+     * Executor for concurrent queries.
+     */
+    @Inject
+    private QueryExecutor queryExecutor;
+
     /**
      * Default constructor.
      * This class is injectable, don't call this constructor explicitly.
@@ -78,6 +146,22 @@ public class ExplorerDAO {
         return managedEntity;
     }
 
+    /**
+     * Insert a new entity immediately, without checking its existence before.
+     * The database detects an existing entity with the primary key or a unique constraint.
+     *
+     * @param entity New persistent entity
+     * @param <E>    Type of persistent entity
+     * @return The entity referenced by the persistence context
+     * @throws EntityExistsException If the entity violates a unique constraint,
+     *                               the current transaction is marked for rollback
+     */
+    public <E> E insert(final E entity) {
+        this.em.persist(entity);
+        this.flush();
+        return entity;
+    }
+
     /**
      * Find an entity by unique identifier.
      *
@@ -87,10 +171,25 @@ public class ExplorerDAO {
      * @return An option of persistent entity
      */
     public <E> Optional<E> find(final Class<E> entityClass, final Object id) {
-        var entity = this.em.find(entityClass, id);
+        return this.find(entityClass, id, FetchPlan.none());
+    }
+
+    /**
+     * Find an entity by unique identifier, with its associations of a fetch plan.
+     *
+     * @param entityClass Entity class
+     * @param id          Unique identifier
+     * @param fetch       Fetch plan
+     * @param <E>         Type of persistent entity
+     * @return An option of persistent entity
+     */
+    public <E> Optional<E> find(final Class<E> entityClass, final Object id, final FetchPlan fetch) {
+        var hints = this.buildFetchHints(this.metadataRegistry.get(entityClass), fetch, Set.of());
+        var entity = this.em.find(entityClass, id, hints);
         return Optional.ofNullable(entity);
     }
 
+
     /**
      * Search entities.
      *
@@ -105,26 +204,253 @@ public class ExplorerDAO {
             final Set<FilterQuery> queries,
             final AdditionalCriteriaPredicate<E, E> additionalCriteriaPredicate) {
 
+        return this.find(entityClass, queries, additionalCriteriaPredicate, 0, FetchPlan.none(), NO_PLAN_CACHE);
+    }
+
+    /**
+     * Search entities, with additional elements after the page.
+     * Useful for knowing if a next page exists without counting.
+     * The associations of the fetch plan and of the include query are loaded with the entities.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param lookahead                   Number of additional elements after the page
+     * @param fetch                       Fetch plan of the entry point
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return A list of entity filtered
+     */
+    public <E> List<E> find(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, E> additionalCriteriaPredicate,
+            final int lookahead,
+            final FetchPlan fetch,
+            final QueryPlanCache plans) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        var filters = buildFilters(metadata, queries);
+        var plan = this.findPlan(metadata, queries, filters, additionalCriteriaPredicate, plans);
+
+        var pageSize = Queries.getPageSize(queries);
+        var pageNumber = Queries.getPageNumber(queries);
+        var startPosition = Math.max(0, (pageNumber - 1) * pageSize);
+
+        var query = plan.bind(this.em, bindValues(metadata, filters));
+        this.buildFetchHints(metadata, fetch, queries).forEach(query::setHint);
+        return query
+                .setFirstResult(startPosition)
+                .setMaxResults(pageSize + lookahead)
+                .getResultList();
+    }
+
+    /**
+     * Search the selected properties of entities, with a projection.
+     * Only the columns of the selected properties are read, entities are not loaded.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries, with a select query
+     * @param selectable                  Entity attributes names indexed by the selectable properties names
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param lookahead                   Number of additional elements after the page
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return A list of properties values by name, in the order of the select query
+     * @throws ExplorerException If a selected property is not selectable
+     */
+    public <E> List<Map<String, Object>> select(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final Map<String, String> selectable,
+            final AdditionalCriteriaPredicate<E, Tuple> additionalCriteriaPredicate,
+            final int lookahead,
+            final QueryPlanCache plans) {
+
         var distinct = Queries.isDistinct(queries);
+        var metadata = this.metadataRegistry.get(entityClass);
+        var keys = Queries.getSortedValues(queries);
+        var filters = buildFilters(metadata, queries);
+        var attributes = buildSelection(queries, selectable);
 
-        CriteriaPredicate<E, E> predicate = (b, r, q) -> {
-            q.distinct(distinct);
-            q.select(r);
-            var orders = buildOrder(queries, b, r);
-            q.orderBy(orders);
-            return buildPredicate(em, entityClass, b, r, queries);
-        };
+        var signature = attributes + buildSignature(distinct, keys, filters);
+        var shape = new QueryShape("select", entityClass, signature);
+        var plan = plans.get(shape, this.em, () -> {
+            var parameters = new ArrayList<ParameterExpression<Object>>();
+            CriteriaPredicate<E, Tuple> predicate = (b, r, q) -> {
+                var selections = new ArrayList<Selection<?>>();
+                for (var a : attributes) {
+                    selections.add(r.get(selectable.get(a)).alias(a));
+                }
+                q.distinct(distinct);
+                q.multiselect(selections);
+                var orders = buildOrder(keys, b, r);
+                q.orderBy(orders);
+                return buildPredicate(metadata, b, r, filters, parameters);
+            };
+            var criteria = createCriteria(this.em, entityClass, Tuple.class, predicate, additionalCriteriaPredicate);
+            return new QueryPlan<>(criteria, parameters);
+        });
 
         var pageSize = Queries.getPageSize(queries);
         var pageNumber = Queries.getPageNumber(queries);
         var startPosition = Math.max(0, (pageNumber - 1) * pageSize);
 
-        return createQuery(this.em, entityClass, predicate, additionalCriteriaPredicate)
+        var tuples = plan
+                .bind(this.em, bindValues(metadata, filters))
                 .setFirstResult(startPosition)
-                .setMaxResults(pageSize)
+                .setMaxResults(pageSize + lookahead)
+                .getResultList();
+
+        var rows = new ArrayList<Map<String, Object>>(tuples.size());
+        for (var t : tuples) {
+            var row = new LinkedHashMap<String, Object>();
+            // By position, the aliases are not kept by all providers in a named query
+            for (var i = 0; i < attributes.size(); i++) {
+                row.put(attributes.get(i), t.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Check the web queries of a search, without querying the database.
+     * The filter values are converted and the included attributes are checked.
+     *
+     * @param entityClass Entity class
+     * @param queries     Web queries
+     * @param fetch       Fetch plan of the entry point
+     * @param <E>         Type of persistent entity
+     * @throws ExplorerException If a web query is invalid
+     */
+    public <E> void check(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final FetchPlan fetch) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        bindValues(metadata, buildFilters(metadata, queries));
+        this.buildFetchHints(metadata, fetch, queries);
+    }
+
+    /**
+     * Stream all entities, without pagination.
+     * Entities are read from the database while the stream is consumed, with a <i>JDBC</i> fetch size,
+     * the persistence provider may read all entities if it does not support streaming.
+     * Entities are read only, the stream must be closed and consumed in the current transaction.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries, page queries are ignored
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param fetchSize                   Number of rows fetched per database round trip
+     * @param fetch                       Fetch plan of the entry point
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return A lazy stream of entities filtered
+     */
+    public <E> Stream<E> stream(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, E> additionalCriteriaPredicate,
+            final int fetchSize,
+            final FetchPlan fetch,
+            final QueryPlanCache plans) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        var filters = buildFilters(metadata, queries);
+        var plan = this.findPlan(metadata, queries, filters, additionalCriteriaPredicate, plans);
+
+        var query = plan.bind(this.em, bindValues(metadata, filters));
+        this.buildFetchHints(metadata, fetch, queries).forEach(query::setHint);
+        for (var h : FETCH_SIZE_HINTS) {
+            query.setHint(h, fetchSize);
+        }
+        for (var h : READ_ONLY_HINTS) {
+            query.setHint(h, Boolean.TRUE);
+        }
+        return query.getResultStream();
+    }
+
+    /**
+     * Search entities with the keyset pagination.
+     * Instead of skipping the previous pages, the query seeks the elements after the cursor,
+     * so the cost of a page does not depend on its depth.
+     * The primary key is appended to the sorted attributes for a total order,
+     * sorted attributes should not be nullable.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries, with a cursor query
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param fetch                       Fetch plan of the entry point
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return A list of entity filtered, with one more element than the page size if a next page exists
+     * @throws ExplorerException If the cursor or a sorted attribute is invalid
+     */
+    public <E> List<E> seek(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, E> additionalCriteriaPredicate,
+            final FetchPlan fetch,
+            final QueryPlanCache plans) {
+
+        var distinct = Queries.isDistinct(queries);
+        var metadata = this.metadataRegistry.get(entityClass);
+        var keys = buildKeys(metadata, queries);
+        var filters = buildFilters(metadata, queries);
+        var cursor = Cursors.decode(metadata, keys, Queries.getCursor(queries));
+        var seek = !cursor.isEmpty();
+
+        var kind = seek ? "seek" : "seek-first";
+        var shape = new QueryShape(kind, entityClass, buildSignature(distinct, keys, filters));
+        var plan = plans.get(shape, this.em, () -> {
+            var parameters = new ArrayList<ParameterExpression<Object>>();
+            CriteriaPredicate<E, E> predicate = (b, r, q) -> {
+                q.distinct(distinct);
+                q.select(r);
+                var orders = buildOrder(keys, b, r);
+                q.orderBy(orders);
+                var filter = buildPredicate(metadata, b, r, filters, parameters);
+                if (seek) {
+                    filter = b.and(filter, buildSeekPredicate(metadata, keys, b, r, parameters));
+                }
+                return filter;
+            };
+            var criteria = createCriteria(this.em, entityClass, entityClass, predicate, additionalCriteriaPredicate);
+            return new QueryPlan<>(criteria, parameters);
+        });
+
+        var values = new ArrayList<>(bindValues(metadata, filters));
+        values.addAll(cursor);
+
+        var pageSize = Queries.getPageSize(queries);
+        var query = plan.bind(this.em, values);
+        this.buildFetchHints(metadata, fetch, queries).forEach(query::setHint);
+        return query
+                .setMaxResults(pageSize + 1)
                 .getResultList();
     }
 
+    /**
+     * Get the cursor of the keyset pagination after an entity.
+     *
+     * @param entityClass Entity class
+     * @param queries     Web queries
+     * @param entity      Last entity of a page
+     * @param <E>         Type of persistent entity
+     * @return An opaque cursor for the next page
+     */
+    public <E> String cursor(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final E entity) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        var keys = buildKeys(metadata, queries);
+        return Cursors.encode(metadata, keys, entity);
+    }
+
     /**
      * Count entities.
      *
@@ -139,17 +465,108 @@ public class ExplorerDAO {
             final Set<FilterQuery> queries,
             final AdditionalCriteriaPredicate<E, Long> additionalCriteriaPredicate) {
 
-        CriteriaPredicate<E, Long> predicate = (b, r, q) -> {
-            q.select(b.count(r));
-            return buildPredicate(em, entityClass, b, r, queries);
-        };
+        return this.size(entityClass, queries, additionalCriteriaPredicate, NO_PLAN_CACHE);
+    }
 
-        return createQuery(this.em, entityClass, Long.class, predicate, additionalCriteriaPredicate)
-                .getSingleResult();
+    /**
+     * Count entities.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The number of entities filtered
+     */
+    public <E> long size(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, Long> additionalCriteriaPredicate,
+            final QueryPlanCache plans) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        return size(this.em, metadata, queries, additionalCriteriaPredicate, plans);
+    }
+
+    /**
+     * Count entities, up to a threshold.
+     * A probe query reads at most one identifier after the threshold,
+     * the exact count is executed only if there is no entity after the threshold.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param threshold                   Maximum number of entities to count
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The number of entities filtered, {@code threshold + 1} if there are more entities than the threshold
+     */
+    public <E> long size(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, Object> additionalCriteriaPredicate,
+            final long threshold,
+            final QueryPlanCache plans) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        return size(this.em, metadata, queries, additionalCriteriaPredicate, threshold, plans);
+    }
+
+    /**
+     * Count entities concurrently, with a separate entity manager.
+     * The additional function must not depend on the request thread.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The pending number of entities filtered
+     * @see #size(Class, Set, AdditionalCriteriaPredicate, QueryPlanCache)
+     */
+    public <E> CompletableFuture<Long> sizeAsync(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, Long> additionalCriteriaPredicate,
+            final QueryPlanCache plans) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        return this.queryExecutor.supply(
+                this.em.getEntityManagerFactory(),
+                e -> size(e, metadata, queries, additionalCriteriaPredicate, plans)
+        );
+    }
+
+    /**
+     * Count entities concurrently up to a threshold, with a separate entity manager.
+     * The additional function must not depend on the request thread.
+     *
+     * @param entityClass                 Entity class
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param threshold                   Maximum number of entities to count
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The pending number of entities filtered
+     * @see #size(Class, Set, AdditionalCriteriaPredicate, long, QueryPlanCache)
+     */
+    public <E> CompletableFuture<Long> sizeAsync(
+            final Class<E> entityClass,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, Object> additionalCriteriaPredicate,
+            final long threshold,
+            final QueryPlanCache plans) {
+
+        var metadata = this.metadataRegistry.get(entityClass);
+        return this.queryExecutor.supply(
+                this.em.getEntityManagerFactory(),
+                e -> size(e, metadata, queries, additionalCriteriaPredicate, threshold, plans)
+        );
     }
 
     /**
      * Check if an entity exists.
+     * Only the unique identifier of the first row is read.
      *
      * @param entityClass Entity class
      * @param id          Unique identifier
@@ -158,14 +575,16 @@ public class ExplorerDAO {
      */
     public <E> boolean contains(final Class<E> entityClass, final Object id) {
 
-        CriteriaPredicate<E, Long> predicate = (b, r, q) -> {
-            q.select(b.count(r));
-            var attribut = getPrimaryKeyAttribut(this.em, entityClass);
+        var attribut = getPrimaryKeyAttribut(this.metadataRegistry.get(entityClass));
+        CriteriaPredicate<E, Object> predicate = (b, r, q) -> {
+            q.select(r.get(attribut));
             return b.equal(r.get(attribut), id);
         };
 
-        return createQuery(this.em, entityClass, Long.class, predicate, AdditionalCriteriaPredicate::empty)
-                .getSingleResult() >= 1L;
+        return !createQuery(this.em, entityClass, Object.class, predicate, AdditionalCriteriaPredicate::empty)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
     }
 
     /**
@@ -176,18 +595,134 @@ public class ExplorerDAO {
      * @return The value {@code true} if the entity exists, otherwise {@code false} is returned
      */
     public <E> boolean contains(final E entity) {
-
         var entityClass = (Class<E>) entity.getClass();
-        CriteriaPredicate<E, Long> predicate = (b, r, q) -> {
-            q.select(b.count(r));
-            var id = getPrimaryKey(entity);
-            var attribut = getPrimaryKeyAttribut(this.em, entityClass);
-            return b.equal(r.get(attribut), id);
-        };
+        return this.contains(entityClass, getPrimaryKey(entity));
+    }
+
+    /**
+     * Find the version of an entity, without loading the entity.
+     *
+     * @param entityClass Entity class
+     * @param id          Unique identifier
+     * @param <E>         Type of persistent entity
+     * @return An option of version, empty if the entity does not exist or has no {@code @Version} attribute
+     */
+    public <E> Optional<Object> findVersion(final Class<E> entityClass, final Object id) {
 
-        return createQuery(this.em, entityClass, Long.class, predicate, AdditionalCriteriaPredicate::empty)
-                .getSingleResult() >= 1L;
+        var metadata = this.metadataRegistry.get(entityClass);
+        Optional<Object> version;
+        if (metadata.isVersioned()) {
+            var attribut = getPrimaryKeyAttribut(metadata);
+            CriteriaPredicate<E, Object> predicate = (b, r, q) -> {
+                q.select(r.get(metadata.getVersionAttribute()));
+                return b.equal(r.get(attribut), id);
+            };
 
+            version = createQuery(this.em, entityClass, Object.class, predicate, AdditionalCriteriaPredicate::empty)
+                    .setMaxResults(1)
+                    .getResultStream()
+                    .findFirst();
+        } else {
+            version = Optional.empty();
+        }
+        return version;
+    }
+
+    /**
+     * Get the version of an entity.
+     *
+     * @param entity Persistent entity
+     * @param <E>    Type of persistent entity
+     * @return An option of version, empty if the entity has no {@code @Version} attribute
+     */
+    public <E> Optional<Object> getVersion(final E entity) {
+        var metadata = this.metadataRegistry.get((Class<E>) entity.getClass());
+        Optional<Object> version;
+        if (metadata.isVersioned()) {
+            version = Optional.ofNullable(metadata.getAttributeValue(entity, metadata.getVersionAttribute()));
+        } else {
+            version = Optional.empty();
+        }
+        return version;
+    }
+
+    /**
+     * Check if entities are fully loaded, with their basic attributes and their associations.
+     * A loaded entity can be read without lazy loading, outside the persistence context thread.
+     *
+     * @param entityClass Entity class
+     * @param entities    Persistent entities
+     * @param <E>         Type of persistent entity
+     * @return The value {@code true} if all entities are loaded, otherwise the value {@code false} is returned
+     */
+    public <E> boolean isLoaded(final Class<E> entityClass, final List<E> entities) {
+        var metadata = this.metadataRegistry.get(entityClass);
+        var puu = this.em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        var attributes = new ArrayList<String>(metadata.getBasicAttributes().keySet());
+        attributes.addAll(metadata.getAssociationAttributes());
+
+        var loaded = true;
+        var iterator = entities.iterator();
+        while (loaded && iterator.hasNext()) {
+            var e = iterator.next();
+            loaded = puu.isLoaded(e) && attributes.stream().allMatch(a -> puu.isLoaded(e, a));
+        }
+        return loaded;
+    }
+
+    /**
+     * Find entities by unique identifiers, with a single query.
+     *
+     * @param entityClass Entity class
+     * @param ids         Unique identifiers
+     * @param <E>         Type of persistent entity
+     * @return The entities found, by unique identifier
+     */
+    public <E> Map<Object, E> findAll(final Class<E> entityClass, final Collection<?> ids) {
+
+        Map<Object, E> entities;
+        if (ids.isEmpty()) {
+            entities = Map.of();
+        } else {
+            var attribut = getPrimaryKeyAttribut(this.metadataRegistry.get(entityClass));
+            CriteriaPredicate<E, E> predicate = (b, r, q) -> r.get(attribut).in(ids);
+
+            var query = createQuery(this.em, entityClass, entityClass, predicate, AdditionalCriteriaPredicate::empty);
+
+            entities = new HashMap<>();
+            for (var e : query.getResultList()) {
+                entities.put(this.getPrimaryKey(e), e);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Synchronize the persistence context with the database.
+     *
+     * @throws EntityExistsException If an entity violates a unique constraint,
+     *                               the current transaction is marked for rollback
+     */
+    public void flush() {
+        try {
+            this.em.flush();
+        } catch (EntityExistsException ex) {
+            throw ex;
+        } catch (PersistenceException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new EntityExistsException("Unique constraint violation", ex);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Detach all entities from the persistence context.
+     * Pending changes that have not been flushed are lost.
+     */
+    public void clear() {
+        this.em.clear();
     }
 
     /**
@@ -204,26 +739,173 @@ public class ExplorerDAO {
     }
 
     /**
-     * Get the unique identifier attribut.
+     * Count entities.
      *
-     * @param em          Entity manager
-     * @param entityClass Entity class
-     * @param <E>         Type of persistent entity
-     * @return The unique identifier attribut
+     * @param em                          Entity manager
+     * @param metadata                    Compiled entity metadata
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The number of entities filtered
      */
-    private static <E> SingularAttribute<E, ?> getPrimaryKeyAttribut(
+    private static <E> long size(
             final EntityManager em,
-            final Class<E> entityClass) {
+            final EntityMetadata<E> metadata,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, Long> additionalCriteriaPredicate,
+            final QueryPlanCache plans) {
 
-        return em.getMetamodel()
-                .entity(entityClass)
-                .getAttributes()
-                .stream()
-                .filter(e -> Objects.equals(Attribute.PersistentAttributeType.BASIC, e.getPersistentAttributeType()))
-                .map(e -> (SingularAttribute<E, ?>) e)
-                .filter(SingularAttribute::isId)
-                .findFirst()
-                .orElseThrow(() -> new PersistenceException("No primary key attribut found in class: " + entityClass));
+        var filters = buildFilters(metadata, queries);
+        var entityClass = metadata.getEntityClass();
+        var shape = new QueryShape("size", entityClass, buildSignature(false, Map.of(), filters));
+        var plan = plans.get(shape, em, () -> {
+            var parameters = new ArrayList<ParameterExpression<Object>>();
+            CriteriaPredicate<E, Long> predicate = (b, r, q) -> {
+                q.select(b.count(r));
+                return buildPredicate(metadata, b, r, filters, parameters);
+            };
+            var criteria = createCriteria(em, entityClass, Long.class, predicate, additionalCriteriaPredicate);
+            return new QueryPlan<>(criteria, parameters);
+        });
+
+        return plan
+                .bind(em, bindValues(metadata, filters))
+                .getSingleResult();
+    }
+
+    /**
+     * Count entities, up to a threshold.
+     *
+     * @param em                          Entity manager
+     * @param metadata                    Compiled entity metadata
+     * @param queries                     Web queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param threshold                   Maximum number of entities to count
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The number of entities filtered, {@code threshold + 1} if there are more entities than the threshold
+     */
+    private static <E> long size(
+            final EntityManager em,
+            final EntityMetadata<E> metadata,
+            final Set<FilterQuery> queries,
+            final AdditionalCriteriaPredicate<E, Object> additionalCriteriaPredicate,
+            final long threshold,
+            final QueryPlanCache plans) {
+
+        var distinct = Queries.isDistinct(queries);
+        var filters = buildFilters(metadata, queries);
+        var entityClass = metadata.getEntityClass();
+        var signature = buildSignature(distinct, Map.of(), filters);
+        var values = bindValues(metadata, filters);
+
+        var probe = plans.get(new QueryShape("size-probe", entityClass, signature), em, () -> {
+            var parameters = new ArrayList<ParameterExpression<Object>>();
+            CriteriaPredicate<E, Object> predicate = (b, r, q) -> {
+                q.distinct(distinct);
+                q.multiselect(metadata.getIdAttributes().stream().<Selection<?>>map(r::get).toList());
+                return buildPredicate(metadata, b, r, filters, parameters);
+            };
+            var criteria = createCriteria(em, entityClass, Object.class, predicate, additionalCriteriaPredicate);
+            return new QueryPlan<>(criteria, parameters);
+        });
+
+        var overflow = !probe
+                .bind(em, values)
+                .setFirstResult((int) threshold)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+
+        long size;
+        if (overflow) {
+            size = threshold + 1;
+        } else {
+            var count = plans.get(new QueryShape("size-estimate", entityClass, signature), em, () -> {
+                var parameters = new ArrayList<ParameterExpression<Object>>();
+                CriteriaPredicate<E, Object> predicate = (b, r, q) -> {
+                    q.select(distinct ? b.countDistinct(r) : b.count(r));
+                    return buildPredicate(metadata, b, r, filters, parameters);
+                };
+                var criteria = createCriteria(em, entityClass, Object.class, predicate, additionalCriteriaPredicate);
+                return new QueryPlan<>(criteria, parameters);
+            });
+            size = ((Number) count.bind(em, values).getSingleResult()).longValue();
+        }
+        return size;
+    }
+
+    /**
+     * Get the compiled query searching entities, sorted and filtered.
+     *
+     * @param metadata                    Compiled entity metadata
+     * @param queries                     Web queries
+     * @param filters                     Filter queries
+     * @param additionalCriteriaPredicate additional function for filtering data
+     * @param plans                       Cache of compiled queries
+     * @param <E>                         Type of persistent entity
+     * @return The compiled query
+     */
+    private <E> QueryPlan<E> findPlan(
+            final EntityMetadata<E> metadata,
+            final Set<FilterQuery> queries,
+            final List<FilterQuery> filters,
+            final AdditionalCriteriaPredicate<E, E> additionalCriteriaPredicate,
+            final QueryPlanCache plans) {
+
+        var distinct = Queries.isDistinct(queries);
+        var keys = Queries.getSortedValues(queries);
+        var entityClass = metadata.getEntityClass();
+
+        var shape = new QueryShape("find", entityClass, buildSignature(distinct, keys, filters));
+        return plans.get(shape, this.em, () -> {
+            var parameters = new ArrayList<ParameterExpression<Object>>();
+            CriteriaPredicate<E, E> predicate = (b, r, q) -> {
+                q.distinct(distinct);
+                q.select(r);
+                var orders = buildOrder(keys, b, r);
+                q.orderBy(orders);
+                return buildPredicate(metadata, b, r, filters, parameters);
+            };
+            var criteria = createCriteria(this.em, entityClass, entityClass, predicate, additionalCriteriaPredicate);
+            return new QueryPlan<>(criteria, parameters);
+        });
+    }
+
+    /**
+     * Check if an exception is caused by a unique constraint violation of the database.
+     * Other integrity constraint violations, like a foreign key or a not null constraint, are not conflicts.
+     *
+     * @param exception Persistence exception
+     * @return The value {@code true} if a cause has the <i>SQL</i> state or the vendor code of a unique constraint violation
+     */
+    private static boolean isUniqueViolation(final Throwable exception) {
+        var violation = false;
+        var causes = new HashSet<Throwable>();
+        var cause = exception;
+        while (!violation && Objects.nonNull(cause) && causes.add(cause)) {
+            violation = cause instanceof SQLException sql
+                    && Objects.nonNull(sql.getSQLState())
+                    && (Objects.equals(sql.getSQLState(), UNIQUE_VIOLATION)
+                    || sql.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION)
+                    && UNIQUE_VIOLATION_CODES.contains(sql.getErrorCode()));
+            cause = cause.getCause();
+        }
+        return violation;
+    }
+
+    /**
+     * Get the unique identifier attribut.
+     *
+     * @param metadata Compiled entity metadata
+     * @param <E>      Type of persistent entity
+     * @return The unique identifier attribut
+     */
+    private static <E> SingularAttribute<? super E, ?> getPrimaryKeyAttribut(final EntityMetadata<E> metadata) {
+        return Optional
+                .ofNullable(metadata.getIdAttribute())
+                .orElseThrow(() -> new PersistenceException("No primary key attribut found in class: " + metadata.getEntityClass()));
     }
 
     /**
@@ -245,59 +927,323 @@ public class ExplorerDAO {
             final CriteriaPredicate<E, R> criteria,
             final AdditionalCriteriaPredicate<E, R> additionalCriteriaPredicate) {
 
-        var builder = em.getCriteriaBuilder();
-        var query = builder.createQuery(targetClass);
-        var root = query.from(entityClass);
-        var predicate = criteria.toPredicate(builder, root, query);
-        additionalCriteriaPredicate.toPredicate(predicate, builder, root, query);
-        query.where(predicate);
+        var query = createCriteria(em, entityClass, targetClass, criteria, additionalCriteriaPredicate);
         return em.createQuery(query);
     }
 
     /**
-     * Construct the <i>JPA</i> query.
+     * Construct the <i>JPA</i> criteria query.
      *
      * @param em                          Entity manager
      * @param entityClass                 Entity class
+     * @param targetClass                 Result query class
      * @param criteria                    Current predicate
      * @param additionalCriteriaPredicate Additional predicate
      * @param <E>                         Type of persistent entity
-     * @return The <i>JPA</i> query
+     * @param <R>                         Type of query return
+     * @return The <i>JPA</i> criteria query
      */
-    private static <E> TypedQuery<E> createQuery(
+    private static <E, R> CriteriaQuery<R> createCriteria(
             final EntityManager em,
             final Class<E> entityClass,
-            final CriteriaPredicate<E, E> criteria,
-            final AdditionalCriteriaPredicate<E, E> additionalCriteriaPredicate) {
+            final Class<R> targetClass,
+            final CriteriaPredicate<E, R> criteria,
+            final AdditionalCriteriaPredicate<E, R> additionalCriteriaPredicate) {
 
-        return createQuery(em, entityClass, entityClass, criteria, additionalCriteriaPredicate);
+        var builder = em.getCriteriaBuilder();
+        var query = builder.createQuery(targetClass);
+        var root = query.from(entityClass);
+        var predicate = criteria.toPredicate(builder, root, query);
+        additionalCriteriaPredicate.toPredicate(predicate, builder, root, query);
+        query.where(predicate);
+        return query;
     }
 
+    /**
+     * Select the web queries building a predicate, in a deterministic order.
+     *
+     * @param metadata Compiled entity metadata
+     * @param queries  Web queries
+     * @param <E>      Type of persistent entity
+     * @return The web queries on a basic attribute, sorted by name and operator
+     */
+    private static <E> List<FilterQuery> buildFilters(
+            final EntityMetadata<E> metadata,
+            final Set<FilterQuery> queries) {
+
+        return queries
+                .stream()
+                .filter(q -> metadata.isBasicAttribute(q.getName()))
+                .filter(q -> !q.isBasicQuery() || q.isKeywordQuery())
+                .sorted(Comparator.comparing(FilterQuery::getName).thenComparing(FilterQuery::getOperator))
+                .toList();
+    }
+
+    /**
+     * Construct the signature of a query shape.
+     * The values are ignored, only their number is kept.
+     *
+     * @param distinct Distinct result
+     * @param keys     Sorted attributes
+     * @param filters  Web queries building a predicate
+     * @return The signature
+     */
+    private static String buildSignature(
+            final boolean distinct,
+            final Map<String, Boolean> keys,
+            final List<FilterQuery> filters) {
+
+        var signature = new StringBuilder()
+                .append(distinct)
+                .append(keys);
+
+        for (var f : filters) {
+            var values = BasicCriteriaPredicate.bindableValues(f);
+            signature.append(';').append(f.getName()).append('[').append(f.getOperator()).append(']');
+            for (var o : WebOperator.values()) {
+                signature.append(o).append(values.getOrDefault(o, List.of()).size());
+            }
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Build the load graph hints of a fetch plan and of the include query.
+     *
+     * @param metadata Compiled entity metadata
+     * @param fetch    Fetch plan of the entry point
+     * @param queries  Web queries, with or without include query
+     * @param <E>      Type of persistent entity
+     * @return The query hints, empty if there is nothing to fetch
+     * @throws ExplorerException If an included attribut is not a to one association
+     */
+    private <E> Map<String, Object> buildFetchHints(
+            final EntityMetadata<E> metadata,
+            final FetchPlan fetch,
+            final Set<FilterQuery> queries) {
+
+        // A collection fetched with the pagination is paginated in memory
+        var included = Queries.getIncludedValues(queries);
+        for (var a : included) {
+            if (!metadata.isSingularAssociationAttribute(a)) {
+                throw new ExplorerException("Invalid included attribut : " + a);
+            }
+        }
+
+        var plan = fetch.include(included);
+
+        Map<String, Object> hints;
+        if (plan.isEmpty()) {
+            hints = Map.of();
+        } else {
+            EntityGraph<?> graph;
+            if (Objects.isNull(plan.getGraphName())) {
+                var entityGraph = this.em.createEntityGraph(metadata.getEntityClass());
+                plan.getAttributes().forEach(entityGraph::addAttributeNodes);
+                graph = entityGraph;
+            } else if (plan.getAttributes().isEmpty()) {
+                graph = this.em.getEntityGraph(plan.getGraphName());
+            } else {
+                var entityGraph = this.em.createEntityGraph(plan.getGraphName());
+                if (Objects.isNull(entityGraph)) {
+                    throw new PersistenceException("No entity graph found: " + plan.getGraphName());
+                }
+                plan.getAttributes().forEach(entityGraph::addAttributeNodes);
+                graph = entityGraph;
+            }
+            hints = Map.of(LOAD_GRAPH_HINT, graph);
+        }
+        return hints;
+    }
+
+    /**
+     * Get the selected properties of web queries.
+     *
+     * @param queries    Web queries, with a select query
+     * @param selectable Entity attributes names indexed by the selectable properties names
+     * @return The selected properties, in the order of the select query
+     * @throws ExplorerException If there is no selected property, or a selected property is not selectable
+     */
+    private static List<String> buildSelection(
+            final Set<FilterQuery> queries,
+            final Map<String, String> selectable) {
+
+        var properties = Queries.getSelectedValues(queries);
+        if (properties.isEmpty()) {
+            throw new ExplorerException("Invalid select query, no attribut selected");
+        }
+        for (var p : properties) {
+            if (!selectable.containsKey(p)) {
+                throw new ExplorerException("Invalid selected attribut : " + p);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Convert the values of web queries, in the order of the parameters.
+     *
+     * @param metadata Compiled entity metadata
+     * @param filters  Web queries building a predicate
+     * @param <E>      Type of persistent entity
+     * @return The values bound to parameters
+     */
+    private static <E> List<Object> bindValues(
+            final EntityMetadata<E> metadata,
+            final List<FilterQuery> filters) {
+
+        var values = new ArrayList<>();
+        for (var f : filters) {
+            var type = getAttributeType(metadata, f.getName());
+            var bindable = BasicCriteriaPredicate.bindableValues(f);
+            for (var o : WebOperator.values()) {
+                for (var v : bindable.getOrDefault(o, List.of())) {
+                    values.add(BasicCriteriaPredicate.bindValue(type, f, v));
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Get the type of a basic attribute, primitive type is wrapped.
+     *
+     * @param metadata Compiled entity metadata
+     * @param name     Attribute name
+     * @param <E>      Type of persistent entity
+     * @return The attribute type
+     */
+    private static <E> Class<?> getAttributeType(final EntityMetadata<E> metadata, final String name) {
+        var type = metadata.getBasicAttributes().get(name);
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /**
+     * Create a new parameter, named by its position for the named queries.
+     *
+     * @param builder    Criteria builder
+     * @param type       Parameter type
+     * @param parameters Parameters of the query, the new parameter is added
+     * @return The new parameter
+     */
+    private static ParameterExpression<Object> buildParameter(
+            final CriteriaBuilder builder,
+            final Class<?> type,
+            final List<ParameterExpression<Object>> parameters) {
+
+        var parameter = (ParameterExpression<Object>) builder.parameter(type, "p" + parameters.size());
+        parameters.add(parameter);
+        return parameter;
+    }
 
     /**
      * Construct a <i>JPA ORDER BY</i> clause.
      *
-     * @param queries Web queries
+     * @param keys    Sorted attributes
      * @param builder Criteria builder
      * @param root    Root clause of database query
      * @param <E>     Type of persistent entity
      * @return A list of <i>JPA ORDER BY</i> clause
      */
     private static <E> List<Order> buildOrder(
-            final Set<FilterQuery> queries,
+            final Map<String, Boolean> keys,
             final CriteriaBuilder builder,
             final Root<E> root) {
 
-        return queries
+        return keys
+                .entrySet()
                 .stream()
-                .filter(FilterQuery::isSortQuery)
-                .map(FilterQuery::getSortedValues)
-                .map(Map::entrySet)
-                .flatMap(Set::stream)
                 .map(e -> buildOrder(e, builder, root))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Construct the sorted attributes of the keyset pagination.
+     * The primary key is appended in ascending order, if not already sorted.
+     *
+     * @param metadata Compiled entity metadata
+     * @param queries  Web queries
+     * @param <E>      Type of persistent entity
+     * @return Sorted attributes associated with the value {@code true} for ascending order
+     * @throws ExplorerException If a sorted attribute is not a comparable basic attribute
+     */
+    private static <E> Map<String, Boolean> buildKeys(
+            final EntityMetadata<E> metadata,
+            final Set<FilterQuery> queries) {
+
+        var keys = new LinkedHashMap<>(Queries.getSortedValues(queries));
+        for (var k : keys.keySet()) {
+            if (!metadata.isBasicAttribute(k) || !Comparable.class.isAssignableFrom(getAttributeType(metadata, k))) {
+                throw new ExplorerException("Invalid sorted attribut for cursor : " + k);
+            }
+        }
+        keys.putIfAbsent(getPrimaryKeyAttribut(metadata).getName(), Boolean.TRUE);
+        return keys;
+    }
+
+    /**
+     * Construct the seek predicate of the keyset pagination.
+     * For sorted attributes {@code (a, b)}, the predicate is: {@code a > x OR (a = x AND b > y)},
+     * the comparison is reversed for a descending order.
+     * A parameter is added for each sorted attribute, in order.
+     *
+     * @param metadata   Compiled entity metadata
+     * @param keys       Sorted attributes
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param parameters Parameters of the query
+     * @param <E>        Type of persistent entity
+     * @return A <i>JPA</i> predicate selecting the elements after the cursor
+     */
+    private static <E> Predicate buildSeekPredicate(
+            final EntityMetadata<E> metadata,
+            final Map<String, Boolean> keys,
+            final CriteriaBuilder builder,
+            final Root<E> root,
+            final List<ParameterExpression<Object>> parameters) {
+
+        var names = List.copyOf(keys.keySet());
+        var values = new ArrayList<ParameterExpression<Object>>();
+        for (var n : names) {
+            values.add(buildParameter(builder, getAttributeType(metadata, n), parameters));
+        }
+
+        var disjunctions = new ArrayList<Predicate>();
+        for (var i = 0; i < names.size(); i++) {
+            var conjunctions = new ArrayList<Predicate>();
+            for (var j = 0; j < i; j++) {
+                conjunctions.add(builder.equal(root.get(names.get(j)), values.get(j)));
+            }
+
+            var ascending = Objects.equals(keys.get(names.get(i)), Boolean.TRUE);
+            conjunctions.add(buildSeekComparison(builder, root.get(names.get(i)), values.get(i), ascending));
+            disjunctions.add(builder.and(conjunctions.toArray(Predicate[]::new)));
+        }
+        return builder.or(disjunctions.toArray(Predicate[]::new));
+    }
+
+    /**
+     * Construct the comparison of a sorted attribute with its cursor value.
+     * The attribute type is checked as comparable when the keys are built.
+     *
+     * @param builder   Criteria builder
+     * @param attribute Sorted attribute
+     * @param value     Cursor value
+     * @param ascending The value {@code true} for an ascending order
+     * @param <Y>       Type of sorted attribute
+     * @return A <i>JPA</i> predicate selecting the values after the cursor value
+     */
+    private static <Y extends Comparable<? super Y>> Predicate buildSeekComparison(
+            final CriteriaBuilder builder,
+            final Expression<?> attribute,
+            final Expression<?> value,
+            final boolean ascending) {
+
+        var a = (Expression<? extends Y>) attribute;
+        var v = (Expression<? extends Y>) value;
+        return ascending ? builder.greaterThan(a, v) : builder.lessThan(a, v);
+    }
+
     /**
      * Construct a <i>JPA ORDER BY</i> clause.
      *
@@ -323,93 +1269,85 @@ public class ExplorerDAO {
 
     /**
      * Construct a <i>JPA</i> predicate with all web queries.
+     * Values are replaced by parameters, see {@link #bindValues(EntityMetadata, List)}.
      *
-     * @param em          Entity manager
-     * @param entityClass Entity class
-     * @param builder     Criteria builder
-     * @param root        Root clause of database query
-     * @param queries     Web queries
-     * @param <E>         Type of persistent entity
+     * @param metadata   Compiled entity metadata
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param filters    Web queries building a predicate
+     * @param parameters Parameters of the query
+     * @param <E>        Type of persistent entity
      * @return A complex <i>JPA</i> predicate
      */
     private static <E> Predicate buildPredicate(
-            final EntityManager em,
-            final Class<E> entityClass,
+            final EntityMetadata<E> metadata,
             final CriteriaBuilder builder,
             final Root<E> root,
-            final Set<FilterQuery> queries) {
+            final List<FilterQuery> filters,
+            final List<ParameterExpression<Object>> parameters) {
 
-
-        return builder.and(queries
-                .stream()
-                .filter(q -> isSafeSearchQuery(em, entityClass, q))
-                .map(q -> buildPredicate(builder, root, q))
-                .filter(Optional::isPresent)
-                .flatMap(Optional::stream)
-                .toArray(Predicate[]::new)
-        );
+        var predicates = new ArrayList<Predicate>();
+        for (var f : filters) {
+            buildPredicate(metadata, builder, root, f, parameters).ifPresent(predicates::add);
+        }
+        return builder.and(predicates.toArray(Predicate[]::new));
     }
 
     /**
      * Construct a <i>JPA</i> predicate from a web query.
      *
-     * @param builder Criteria builder
-     * @param root    Root clause of database query
-     * @param query   Web query
-     * @param <E>     Type of persistent entity
+     * @param metadata   Compiled entity metadata
+     * @param builder    Criteria builder
+     * @param root       Root clause of database query
+     * @param query      Web query
+     * @param parameters Parameters of the query
+     * @param <E>        Type of persistent entity
      * @return An option of complex <i>JPA</i> predicate
      */
     private static <E> Optional<Predicate> buildPredicate(
+            final EntityMetadata<E> metadata,
             final CriteriaBuilder builder,
             final Root<E> root,
-            final FilterQuery query) {
+            final FilterQuery query,
+            final List<ParameterExpression<Object>> parameters) {
+
+        var type = BasicCriteriaPredicate.bindType(getAttributeType(metadata, query.getName()), query);
+        var bindable = BasicCriteriaPredicate.bindableValues(query);
+        var p = new EnumMap<WebOperator, List<Expression<?>>>(WebOperator.class);
+        for (var o : WebOperator.values()) {
+            var values = bindable.get(o);
+            if (Objects.nonNull(values)) {
+                var list = new ArrayList<Expression<?>>();
+                for (var i = 0; i < values.size(); i++) {
+                    list.add(buildParameter(builder, type, parameters));
+                }
+                p.put(o, list);
+            }
+        }
 
         Predicate predicate;
         if (!query.isBasicQuery()) {
             predicate = switch (query.getOperator()) {
-                case EQUAL -> BasicCriteriaPredicate.equal(builder, root, query);
-                case NOT_EQUAL -> BasicCriteriaPredicate.notEqual(builder, root, query);
-                case LIKE -> BasicCriteriaPredicate.like(builder, root, query);
-                case NOT_LIKE -> BasicCriteriaPredicate.notLike(builder, root, query);
-                case GREATER_THAN -> BasicCriteriaPredicate.greaterThan(builder, root, query);
-                case GREATER_THAN_OR_EQUAL -> BasicCriteriaPredicate.greaterThanOrEqual(builder, root, query);
-                case LESS_THAN -> BasicCriteriaPredicate.lessThan(builder, root, query);
-                case LESS_THAN_OR_EQUAL -> BasicCriteriaPredicate.lessThanOrEqual(builder, root, query);
-                case IN -> BasicCriteriaPredicate.in(builder, root, query);
-                case NOT_IN -> BasicCriteriaPredicate.notIn(builder, root, query);
-                case BETWEEN -> BasicCriteriaPredicate.between(builder, root, query);
-                case NOT_BETWEEN -> BasicCriteriaPredicate.notBetween(builder, root, query);
+                case EQUAL -> BasicCriteriaPredicate.equal(builder, root, query, p);
+                case NOT_EQUAL -> BasicCriteriaPredicate.notEqual(builder, root, query, p);
+                case LIKE -> BasicCriteriaPredicate.like(builder, root, query, p);
+                case NOT_LIKE -> BasicCriteriaPredicate.notLike(builder, root, query, p);
+                case GREATER_THAN -> BasicCriteriaPredicate.greaterThan(builder, root, query, p);
+                case GREATER_THAN_OR_EQUAL -> BasicCriteriaPredicate.greaterThanOrEqual(builder, root, query, p);
+                case LESS_THAN -> BasicCriteriaPredicate.lessThan(builder, root, query, p);
+                case LESS_THAN_OR_EQUAL -> BasicCriteriaPredicate.lessThanOrEqual(builder, root, query, p);
+                case IN -> BasicCriteriaPredicate.in(builder, root, query, p);
+                case NOT_IN -> BasicCriteriaPredicate.notIn(builder, root, query, p);
+                case BETWEEN -> BasicCriteriaPredicate.between(builder, root, query, p);
+                case NOT_BETWEEN -> BasicCriteriaPredicate.notBetween(builder, root, query, p);
                 default -> null;
             };
         } else if (query.isKeywordQuery()) {
-            predicate = BasicCriteriaPredicate.keyword(builder, root, query);
+            predicate = BasicCriteriaPredicate.keyword(builder, root, p, metadata.getStringAttributes());
         } else {
             predicate = null;
         }
         return Optional.ofNullable(predicate);
     }
 
-    /**
-     * Check the web query is applicable on this persistent entity.
-     *
-     * @param em          Entity manager
-     * @param entityClass Entity class
-     * @param query       Web query
-     * @param <E>         Type of persistent entity
-     * @return The value {@code true} if the web query is applicable on this persistent entity otherwise the value {@code false} is returned
-     */
-    private static <E> boolean isSafeSearchQuery(
-            final EntityManager em,
-            final Class<E> entityClass,
-            final FilterQuery query) {
-
-        return em
-                .getMetamodel()
-                .entity(entityClass)
-                .getAttributes()
-                .stream()
-                .filter(a -> Objects.equals(a.getPersistentAttributeType(), Attribute.PersistentAttributeType.BASIC))
-                .anyMatch(a -> Objects.equals(a.getName(), query.getName()));
-    }
-
 }
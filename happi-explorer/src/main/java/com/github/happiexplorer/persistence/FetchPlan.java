@@ -0,0 +1,131 @@
+package com.github.happiexplorer.persistence;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fetch plan of an entry point, applied as a load graph to the queries.
+ * The associations of the plan are loaded with the entities in the same query,
+ * instead of a query per entity when the mapper reads them.
+ */
+public final class FetchPlan {
+
+    /**
+     * Empty fetch plan, the default fetch types of the entity are used.
+     */
+    private static final FetchPlan NONE = new FetchPlan(null, List.of());
+
+    /**
+     * Name of the named entity graph, {@code null} if none.
+     */
+    private final String graphName;
+
+    /**
+     * Association attributes to fetch.
+     */
+    private final List<String> attributes;
+
+    /**
+     * Internal constructor.
+     * Use the factory methods.
+     *
+     * @param graphName  Name of the named entity graph, {@code null} if none
+     * @param attributes Association attributes to fetch
+     */
+    private FetchPlan(final String graphName, final List<String> attributes) {
+        this.graphName = graphName;
+        this.attributes = List.copyOf(attributes);
+    }
+
+    /**
+     * Get the empty fetch plan.
+     *
+     * @return The empty fetch plan
+     */
+    public static FetchPlan none() {
+        return NONE;
+    }
+
+    /**
+     * Create a fetch plan.
+     *
+     * @param graphName  Name of a named entity graph of the entity, {@code null} if none
+     * @param attributes Association attributes to fetch, in addition to the named entity graph
+     * @return A new fetch plan
+     */
+    public static FetchPlan of(final String graphName, final List<String> attributes) {
+        FetchPlan plan;
+        if (Objects.isNull(graphName) && attributes.isEmpty()) {
+            plan = NONE;
+        } else {
+            plan = new FetchPlan(graphName, attributes);
+        }
+        return plan;
+    }
+
+    /**
+     * Create a fetch plan with additional association attributes.
+     *
+     * @param included Association attributes to fetch, in addition to this plan
+     * @return A new fetch plan, or this plan if there is no additional attribute
+     */
+    public FetchPlan include(final List<String> included) {
+        FetchPlan plan;
+        if (included.isEmpty() || this.attributes.containsAll(included)) {
+            plan = this;
+        } else {
+            var merged = new LinkedHashSet<>(this.attributes);
+            merged.addAll(included);
+            plan = new FetchPlan(this.graphName, List.copyOf(merged));
+        }
+        return plan;
+    }
+
+    /**
+     * Check if this plan has nothing to fetch.
+     *
+     * @return The value {@code true} if this plan is empty, otherwise the value {@code false} is returned
+     */
+    public boolean isEmpty() {
+        return Objects.isNull(this.graphName) && this.attributes.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        boolean eq;
+        if (this == obj) {
+            eq = true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            eq = false;
+        } else {
+            var plan = (FetchPlan) obj;
+            eq = Objects.equals(graphName, plan.graphName)
+                    && Objects.equals(attributes, plan.attributes);
+        }
+        return eq;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(graphName, attributes);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{graphName='").append(graphName).append('\'')
+                .append(", attributes=").append(attributes)
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    public List<String> getAttributes() {
+        return attributes;
+    }
+}
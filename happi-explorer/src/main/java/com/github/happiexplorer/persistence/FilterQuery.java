@@ -37,6 +37,26 @@ public final class FilterQuery {
      */
     private static final String SELECT_QUERY = "select";
 
+    /**
+     * Web parameter for association inclusion.
+     */
+    private static final String INCLUDE_QUERY = "include";
+
+    /**
+     * Web parameter for keyset pagination.
+     */
+    private static final String CURSOR_QUERY = "cursor";
+
+    /**
+     * Web parameter for counting mode.
+     */
+    private static final String COUNT_QUERY = "count";
+
+    /**
+     * Separator of the listed attributes, for selection and inclusion.
+     */
+    private static final String LIST_SEPARATOR = ",";
+
     /**
      * Prefix symbol for ascending order.
      */
@@ -63,7 +83,7 @@ public final class FilterQuery {
     private final String name;
 
     /**
-     * Values.
+     * Values, unmodifiable.
      */
     private final Map<WebOperator, List<String>> values;
 
@@ -74,6 +94,7 @@ public final class FilterQuery {
 
     /**
      * Construct a web query.
+     * The values are copied once, the web query is immutable and can be shared between requests.
      *
      * @param name     Attribut name
      * @param values   Values
@@ -81,7 +102,9 @@ public final class FilterQuery {
      */
     FilterQuery(final String name, final Map<WebOperator, List<String>> values, final Operator operator) {
         this.name = name;
-        this.values = Map.copyOf(values);
+        var copy = new EnumMap<WebOperator, List<String>>(WebOperator.class);
+        values.forEach((k, v) -> copy.put(k, List.copyOf(v)));
+        this.values = Collections.unmodifiableMap(copy);
         this.operator = operator;
     }
 
@@ -122,7 +145,7 @@ public final class FilterQuery {
     }
 
     Map<WebOperator, List<String>> getValues() {
-        return Map.copyOf(values);
+        return values;
     }
 
     Operator getOperator() {
@@ -157,6 +180,18 @@ public final class FilterQuery {
         return this.isBasicQuery() && Objects.equals(this.name, SELECT_QUERY);
     }
 
+    boolean isIncludeQuery() {
+        return this.isBasicQuery() && Objects.equals(this.name, INCLUDE_QUERY);
+    }
+
+    boolean isCursorQuery() {
+        return this.isBasicQuery() && Objects.equals(this.name, CURSOR_QUERY);
+    }
+
+    boolean isCountQuery() {
+        return this.isBasicQuery() && Objects.equals(this.name, COUNT_QUERY);
+    }
+
     String getBetweenFirstValue() {
         var between = this.values.get(WebOperator.AND);
         return between.get(BETWEEN_FIRST_ARGUMENT);
@@ -168,7 +203,7 @@ public final class FilterQuery {
     }
 
     Map<String, Boolean> getSortedValues() {
-        var orders = new HashMap<String, Boolean>();
+        var orders = new LinkedHashMap<String, Boolean>();
         var values = this.values
                 .values()
                 .stream()
@@ -193,6 +228,18 @@ public final class FilterQuery {
         return orders;
     }
 
+    List<String> getListedValues() {
+        var selected = new ArrayList<String>();
+        for (var v : this.values.getOrDefault(WebOperator.AND, List.of())) {
+            for (var name : v.split(LIST_SEPARATOR)) {
+                if (!name.isBlank()) {
+                    selected.add(name.strip());
+                }
+            }
+        }
+        return selected;
+    }
+
     String getSingleValue() {
         String value;
         if (!this.values.isEmpty()) {
@@ -1,7 +1,9 @@
 package com.github.happiexplorer.persistence;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -19,6 +21,32 @@ public final class Queries {
      */
     private static final int DEFAULT_PAGE_SIZE = 100;
 
+    /**
+     * Default threshold for the estimate count.
+     */
+    private static final int DEFAULT_COUNT_THRESHOLD = 1000;
+
+    /**
+     * Maximum threshold for the estimate count, the offset of the probe query is an {@code int}.
+     */
+    private static final long MAX_COUNT_THRESHOLD = Integer.MAX_VALUE;
+
+    /**
+     * Maximum number of parsed web queries in the parser cache.
+     */
+    private static final int PARSER_CACHE_SIZE = 1024;
+
+    /**
+     * Separator of the values for the logical operator {@code OR}.
+     */
+    private static final Pattern OR_SEPARATOR = Pattern.compile("\\|");
+
+    /**
+     * Parsed web queries by raw parameters.
+     * The same query strings are often repeated, by the pagination or by the clients polling a page.
+     */
+    private static final Map<Map<String, List<String>>, Set<FilterQuery>> PARSER_CACHE = new ConcurrentHashMap<>();
+
     /**
      * String converter for basic types.
      */
@@ -134,6 +162,127 @@ public final class Queries {
                 .orElse(DEFAULT_PAGE_SIZE);
     }
 
+    /**
+     * Check if web queries use the keyset pagination, with a cursor query.
+     *
+     * @param queries Web queries
+     * @return The value {@code true} if web queries has a cursor query otherwise the value {@code false} is returned
+     */
+    public static boolean isKeyset(final Set<FilterQuery> queries) {
+        return queries
+                .stream()
+                .anyMatch(FilterQuery::isCursorQuery);
+    }
+
+    /**
+     * Get the cursor of the keyset pagination.
+     *
+     * @param queries Web queries
+     * @return The cursor if web queries has a not blank cursor query otherwise an empty string is returned
+     */
+    static String getCursor(final Set<FilterQuery> queries) {
+        return queries
+                .stream()
+                .filter(FilterQuery::isCursorQuery)
+                .map(FilterQuery::getSingleValue)
+                .filter(Objects::nonNull)
+                .map(String::strip)
+                .findFirst()
+                .orElse("");
+    }
+
+    /**
+     * Get the counting mode of web queries.
+     *
+     * @param queries Web queries
+     * @return The counting mode if web queries has a count query,
+     * otherwise the value {@link CountMode#NONE} is returned for a keyset pagination and {@link CountMode#EXACT} for an offset pagination
+     */
+    public static CountMode getCountMode(final Set<FilterQuery> queries) {
+        return queries
+                .stream()
+                .filter(FilterQuery::isCountQuery)
+                .map(FilterQuery::getSingleValue)
+                .map(CountMode::parse)
+                .findFirst()
+                .orElseGet(() -> isKeyset(queries) ? CountMode.NONE : CountMode.EXACT);
+    }
+
+    /**
+     * Get the threshold of the estimate count.
+     * The threshold is extended to the end of the requested page, so that a deep page can be counted,
+     * and capped to {@link Integer#MAX_VALUE}.
+     *
+     * @param queries Web queries
+     * @return The maximum number of elements to count
+     */
+    public static long getCountThreshold(final Set<FilterQuery> queries) {
+        var pageSize = getPageSize(queries);
+        var pageNumber = getPageNumber(queries);
+        var threshold = Math.max(DEFAULT_COUNT_THRESHOLD, (long) pageSize * pageNumber);
+        return Math.min(MAX_COUNT_THRESHOLD, threshold);
+    }
+
+    /**
+     * Check if web queries have a select query, for a projection on some attributes.
+     *
+     * @param queries Web queries
+     * @return The value {@code true} if web queries has a select query otherwise the value {@code false} is returned
+     */
+    public static boolean isSelect(final Set<FilterQuery> queries) {
+        return queries
+                .stream()
+                .anyMatch(FilterQuery::isSelectQuery);
+    }
+
+    /**
+     * Get the selected attributes of web queries, in the order of the query and without duplicate.
+     *
+     * @param queries Web queries
+     * @return Attributes names, empty if web queries has no select query
+     */
+    static List<String> getSelectedValues(final Set<FilterQuery> queries) {
+        var selected = new LinkedHashSet<String>();
+        queries
+                .stream()
+                .filter(FilterQuery::isSelectQuery)
+                .map(FilterQuery::getListedValues)
+                .forEach(selected::addAll);
+        return List.copyOf(selected);
+    }
+
+    /**
+     * Get the included associations of web queries, in the order of the query and without duplicate.
+     *
+     * @param queries Web queries
+     * @return Association attributes names, empty if web queries has no include query
+     */
+    static List<String> getIncludedValues(final Set<FilterQuery> queries) {
+        var included = new LinkedHashSet<String>();
+        queries
+                .stream()
+                .filter(FilterQuery::isIncludeQuery)
+                .map(FilterQuery::getListedValues)
+                .forEach(included::addAll);
+        return List.copyOf(included);
+    }
+
+    /**
+     * Get the sorted attributes of web queries, in the order of the query.
+     *
+     * @param queries Web queries
+     * @return Attributes names associated with the value {@code true} for ascending order
+     */
+    static Map<String, Boolean> getSortedValues(final Set<FilterQuery> queries) {
+        var orders = new LinkedHashMap<String, Boolean>();
+        queries
+                .stream()
+                .filter(FilterQuery::isSortQuery)
+                .map(FilterQuery::getSortedValues)
+                .forEach(orders::putAll);
+        return orders;
+    }
+
     /**
      * Compute the page count based on the page size.
      *
@@ -148,17 +297,34 @@ public final class Queries {
 
     /**
      * Convert raw parameters to web queries.
+     * The web queries are immutable, they are parsed once for the same raw parameters and then shared.
+     * Web queries with a cursor are not cached, a cursor is specific to a page.
      *
      * @param parameters Raw parameters from URL
-     * @return A sef of web queries
+     * @return An unmodifiable set of web queries
      */
     public static Set<FilterQuery> convertQueries(final Map<String, List<String>> parameters) {
+        var queries = PARSER_CACHE.get(parameters);
+        if (Objects.isNull(queries)) {
+            var key = new HashMap<String, List<String>>();
+            parameters.forEach((k, v) -> key.put(k, List.copyOf(v)));
+            queries = key
+                    .entrySet()
+                    .stream()
+                    .map(e -> convertQuery(e.getKey(), e.getValue()))
+                    .collect(Collectors.toUnmodifiableSet());
 
-        return parameters
-                .entrySet()
-                .stream()
-                .map(e -> convertQuery(e.getKey(), e.getValue()))
-                .collect(Collectors.toSet());
+            if (queries.stream().noneMatch(FilterQuery::isCursorQuery)) {
+                // Evict an arbitrary entry, cheaper than an access order under contention
+                var iterator = PARSER_CACHE.keySet().iterator();
+                while (PARSER_CACHE.size() >= PARSER_CACHE_SIZE && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+                PARSER_CACHE.put(Collections.unmodifiableMap(key), queries);
+            }
+        }
+        return queries;
     }
 
     /**
@@ -200,7 +366,7 @@ public final class Queries {
         var map = new HashMap<WebOperator, List<String>>();
 
         for (var v : values) {
-            var or = v.split("\\|");
+            var or = OR_SEPARATOR.split(v);
             if (or.length > 1) {
                 for (var o : or) {
                     var orValues = map.getOrDefault(WebOperator.OR, new ArrayList<>());
@@ -0,0 +1,151 @@
+package com.github.happiexplorer.persistence;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Executor for database queries and tasks running concurrently with the request thread.
+ * The default managed executor of the server is used if available, otherwise a virtual thread per task.
+ * Each query uses its own entity manager, an entity manager is not thread-safe.
+ */
+@ApplicationScoped
+public class QueryExecutor {
+
+    /**
+     * Standard <i>JNDI</i> name of the default managed executor.
+     */
+    private static final String MANAGED_EXECUTOR_NAME = "java:comp/DefaultManagedExecutorService";
+
+    /**
+     * Executor, resolved on first use.
+     */
+    private volatile ExecutorService executor;
+
+    /**
+     * Indicate if the executor is managed by the server.
+     */
+    private volatile boolean managed;
+
+    /**
+     * Default constructor.
+     * This class is injectable, don't call this constructor explicitly.
+     */
+    public QueryExecutor() {
+        // NO-OP
+    }
+
+    /**
+     * Wait for the result of a concurrent query.
+     *
+     * @param future Pending query
+     * @param <R>    Type of query result
+     * @return The query result
+     * @throws RuntimeException The exception thrown by the query
+     */
+    public static <R> R join(final CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Run a query concurrently with a new entity manager.
+     * The entity manager is closed after the query.
+     *
+     * @param factory Entity manager factory
+     * @param query   Query using the entity manager
+     * @param <R>     Type of query result
+     * @return The pending query
+     */
+    public <R> CompletableFuture<R> supply(
+            final EntityManagerFactory factory,
+            final Function<EntityManager, R> query) {
+
+        return this.supply(() -> {
+            var em = factory.createEntityManager();
+            try {
+                return query.apply(em);
+            } finally {
+                em.close();
+            }
+        });
+    }
+
+    /**
+     * Run a task concurrently.
+     * The task must not use the entity manager of the request thread.
+     *
+     * @param task Any task
+     * @param <R>  Type of task result
+     * @return The pending task
+     */
+    public <R> CompletableFuture<R> supply(final Supplier<R> task) {
+        return CompletableFuture.supplyAsync(task, this.getExecutor());
+    }
+
+    /**
+     * Release the executor if it is not managed by the server.
+     */
+    @PreDestroy
+    void close() {
+        var current = this.executor;
+        if (Objects.nonNull(current) && !this.managed) {
+            current.shutdown();
+        }
+    }
+
+    /**
+     * Get the executor, resolved on first use.
+     *
+     * @return The executor
+     */
+    private ExecutorService getExecutor() {
+        var current = this.executor;
+        if (Objects.isNull(current)) {
+            synchronized (this) {
+                current = this.executor;
+                if (Objects.isNull(current)) {
+                    current = lookupManagedExecutor();
+                    this.managed = Objects.nonNull(current);
+                    if (!this.managed) {
+                        current = Executors.newVirtualThreadPerTaskExecutor();
+                    }
+                    this.executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Find the default managed executor of the server.
+     *
+     * @return The managed executor, or {@code null} if the server does not provide it
+     */
+    private static ExecutorService lookupManagedExecutor() {
+        ExecutorService managedExecutor;
+        try {
+            managedExecutor = (ExecutorService) new InitialContext().lookup(MANAGED_EXECUTOR_NAME);
+        } catch (NamingException | ClassCastException ex) {
+            managedExecutor = null;
+        }
+        return managedExecutor;
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.happiexplorer.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiled query with parameters.
+ * A plan is either a criteria query, for a single request,
+ * or a named query of the persistence unit, reused for all web queries of the same shape.
+ * Only the values are bound per request, a named query also reuses the query plan of the provider.
+ *
+ * @param <R> Type of query return
+ */
+final class QueryPlan<R> {
+
+    /**
+     * Criteria query, absent for a named query.
+     */
+    private final CriteriaQuery<R> criteria;
+
+    /**
+     * Parameters, in the order of the values.
+     */
+    private final List<ParameterExpression<Object>> parameters;
+
+    /**
+     * Name of the named query, absent for a criteria query.
+     */
+    private final String name;
+
+    /**
+     * Type of query return.
+     */
+    private final Class<R> resultClass;
+
+    /**
+     * Construct a compiled query for a single request.
+     * The parameters must be named, see {@link #register(EntityManager, String)}.
+     *
+     * @param criteria   Criteria query
+     * @param parameters Parameters, in the order of the values
+     */
+    QueryPlan(final CriteriaQuery<R> criteria, final List<ParameterExpression<Object>> parameters) {
+        this(criteria, parameters, null, criteria.getResultType());
+    }
+
+    /**
+     * Internal constructor.
+     *
+     * @param criteria    Criteria query, absent for a named query
+     * @param parameters  Parameters, in the order of the values
+     * @param name        Name of the named query, absent for a criteria query
+     * @param resultClass Type of query return
+     */
+    private QueryPlan(
+            final CriteriaQuery<R> criteria,
+            final List<ParameterExpression<Object>> parameters,
+            final String name,
+            final Class<R> resultClass) {
+
+        this.criteria = criteria;
+        this.parameters = List.copyOf(parameters);
+        this.name = name;
+        this.resultClass = resultClass;
+    }
+
+    /**
+     * Register this query as a named query of the persistence unit.
+     * A query already registered with the same name is replaced.
+     * The criteria query is not kept, the returned plan can be shared between threads and entity managers.
+     *
+     * @param em   Entity manager
+     * @param name Name of the named query
+     * @return The compiled query, by name
+     */
+    QueryPlan<R> register(final EntityManager em, final String name) {
+        em.getEntityManagerFactory().addNamedQuery(name, em.createQuery(this.criteria));
+        return new QueryPlan<>(null, this.parameters, name, this.resultClass);
+    }
+
+    /**
+     * Create the <i>JPA</i> query and bind the values.
+     *
+     * @param em     Entity manager
+     * @param values Values, in the order of the parameters
+     * @return The <i>JPA</i> query
+     */
+    TypedQuery<R> bind(final EntityManager em, final List<Object> values) {
+        TypedQuery<R> query;
+        if (Objects.isNull(this.name)) {
+            query = em.createQuery(this.criteria);
+        } else {
+            query = em.createNamedQuery(this.name, this.resultClass);
+        }
+        for (var i = 0; i < this.parameters.size(); i++) {
+            query.setParameter(this.parameters.get(i).getName(), values.get(i));
+        }
+        return query;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{name='").append(name).append('\'')
+                .append(", parameters=").append(parameters.size())
+                .append('}').toString();
+    }
+}
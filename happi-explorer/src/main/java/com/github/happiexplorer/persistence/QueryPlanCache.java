@@ -0,0 +1,173 @@
+package com.github.happiexplorer.persistence;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of compiled queries for an entry point.
+ * Compiled queries are registered as named queries of the persistence unit,
+ * the provider reuses its own query plan, not only the criteria tree.
+ * An arbitrary query is evicted above the maximum size, the named queries stay bounded by the shapes.
+ * The additional filter function of the service is compiled in the query,
+ * it must only depend on the shape of the web query.
+ */
+public final class QueryPlanCache {
+
+    /**
+     * Sequence of cache identifiers, the namespaces of the named queries.
+     */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * Maximum number of compiled queries, no cache if zero.
+     */
+    private final int maximumSize;
+
+    /**
+     * Namespace of the named queries of this cache.
+     */
+    private final String namespace;
+
+    /**
+     * Compiled queries by shape.
+     */
+    private final Map<QueryShape, QueryPlan<?>> plans;
+
+    /**
+     * Number of compiled queries reused.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of compiled queries created.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Internal constructor.
+     * Use the factory method {@link #of(int)}.
+     *
+     * @param maximumSize Maximum number of compiled queries
+     */
+    private QueryPlanCache(final int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        this.namespace = "happi-explorer-" + SEQUENCE.incrementAndGet();
+        this.plans = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Create a cache of compiled queries.
+     *
+     * @param maximumSize Maximum number of compiled queries, no cache if zero
+     * @return A new cache
+     */
+    public static QueryPlanCache of(final int maximumSize) {
+        return new QueryPlanCache(maximumSize);
+    }
+
+    /**
+     * Get a compiled query, compile and register it if absent.
+     * Two threads may compile the same shape, the last registered named query is kept.
+     *
+     * @param shape    Query shape
+     * @param em       Entity manager
+     * @param compiler Function compiling the query
+     * @param <R>      Type of query return
+     * @return The compiled query
+     */
+    <R> QueryPlan<R> get(final QueryShape shape, final EntityManager em, final Supplier<QueryPlan<R>> compiler) {
+        QueryPlan<R> plan;
+        if (this.isEnabled()) {
+            plan = (QueryPlan<R>) this.plans.get(shape);
+            if (Objects.isNull(plan)) {
+                this.misses.increment();
+                plan = compiler.get().register(em, shape.toName(this.namespace));
+                // Evict an arbitrary entry, cheaper than an access order under contention
+                var iterator = this.plans.keySet().iterator();
+                while (this.plans.size() >= this.maximumSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+                this.plans.put(shape, plan);
+            } else {
+                this.hits.increment();
+            }
+        } else {
+            plan = compiler.get();
+        }
+        return plan;
+    }
+
+    /**
+     * Check if this cache stores compiled queries.
+     *
+     * @return The value {@code true} if the cache is enabled, otherwise the value {@code false} is returned
+     */
+    public boolean isEnabled() {
+        return this.maximumSize > 0;
+    }
+
+    /**
+     * Get the number of compiled queries in the cache.
+     *
+     * @return The number of compiled queries
+     */
+    public int size() {
+        return this.plans.size();
+    }
+
+    /**
+     * Remove all compiled queries.
+     */
+    public void clear() {
+        this.plans.clear();
+    }
+
+    /**
+     * Get the ratio of compiled queries reused.
+     *
+     * @return The hit rate, between zero and one
+     */
+    public double getHitRate() {
+        var h = this.hits.sum();
+        var total = h + this.misses.sum();
+        double rate;
+        if (total == 0L) {
+            rate = 0.0;
+        } else {
+            rate = (double) h / total;
+        }
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{maximumSize=").append(maximumSize)
+                .append(", hits=").append(hits)
+                .append(", misses=").append(misses)
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
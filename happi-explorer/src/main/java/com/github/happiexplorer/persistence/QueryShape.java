@@ -0,0 +1,79 @@
+package com.github.happiexplorer.persistence;
+
+import java.util.Objects;
+
+/**
+ * Shape of a web query, the key of a compiled query.
+ * Two web queries have the same shape if they differ only by their values,
+ * with the same number of values for each attribute and operator.
+ */
+final class QueryShape {
+
+    /**
+     * Kind of query, like a page or a count.
+     */
+    private final String kind;
+
+    /**
+     * Entity class.
+     */
+    private final Class<?> entityClass;
+
+    /**
+     * Normalized attributes, operators, number of values and order.
+     */
+    private final String signature;
+
+    /**
+     * Construct a query shape.
+     *
+     * @param kind        Kind of query
+     * @param entityClass Entity class
+     * @param signature   Normalized attributes, operators, number of values and order
+     */
+    QueryShape(final String kind, final Class<?> entityClass, final String signature) {
+        this.kind = kind;
+        this.entityClass = entityClass;
+        this.signature = signature;
+    }
+
+    /**
+     * Get a name for this shape, unique in the given namespace.
+     *
+     * @param namespace Prefix of the name
+     * @return The name of this shape
+     */
+    String toName(final String namespace) {
+        return namespace + ':' + kind + ':' + entityClass.getName() + ':' + signature;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        boolean eq;
+        if (this == obj) {
+            eq = true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            eq = false;
+        } else {
+            var shape = (QueryShape) obj;
+            eq = Objects.equals(kind, shape.kind)
+                    && Objects.equals(entityClass, shape.entityClass)
+                    && Objects.equals(signature, shape.signature);
+        }
+        return eq;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, entityClass, signature);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{kind='").append(kind).append('\'')
+                .append(", entityClass=").append(entityClass)
+                .append(", signature='").append(signature).append('\'')
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.happiexplorer.security;
+
+import com.github.happiexplorer.Action;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Authorization decision table of an entry point, compiled at the registration.
+ * The pseudo roles are resolved once, and each real role is replaced by its index in {@link HappiSecurityManager},
+ * so that an authorization check is a table lookup and a bit test.
+ */
+public final class AuthorizationMatrix {
+
+    /**
+     * Role index of a decision without real role.
+     */
+    private static final int NO_ROLE_INDEX = -1;
+
+    /**
+     * Decisions by action, every action is present.
+     */
+    private final Map<Action, Decision> decisions;
+
+    /**
+     * Role indexes by action, for the decision {@link Decision#ROLE}.
+     */
+    private final Map<Action, Integer> roleIndexes;
+
+    /**
+     * Role names by action, for the decision {@link Decision#ROLE}.
+     */
+    private final Map<Action, String> roles;
+
+    /**
+     * Internal constructor.
+     * Use the factory method {@link #compile(Map, HappiSecurityManager)}.
+     *
+     * @param decisions   Decisions by action
+     * @param roleIndexes Role indexes by action
+     * @param roles       Role names by action
+     */
+    private AuthorizationMatrix(
+            final Map<Action, Decision> decisions,
+            final Map<Action, Integer> roleIndexes,
+            final Map<Action, String> roles) {
+
+        this.decisions = decisions;
+        this.roleIndexes = roleIndexes;
+        this.roles = roles;
+    }
+
+    /**
+     * Compile the actions of an entry point.
+     * An action without role is denied.
+     *
+     * @param actions         Actions with roles
+     * @param securityManager Security manager indexing the roles
+     * @return A new decision table
+     */
+    public static AuthorizationMatrix compile(
+            final Map<Action, String> actions,
+            final HappiSecurityManager securityManager) {
+
+        var decisions = new EnumMap<Action, Decision>(Action.class);
+        var roleIndexes = new EnumMap<Action, Integer>(Action.class);
+        var roles = new EnumMap<Action, String>(Action.class);
+        for (var a : Action.values()) {
+            var role = actions.getOrDefault(a, HappiSecurityManager.DENY_ALL);
+            var decision = Decision.of(role);
+            decisions.put(a, decision);
+            if (Objects.equals(decision, Decision.ROLE)) {
+                roleIndexes.put(a, securityManager.indexOfRole(role));
+                roles.put(a, role);
+            } else {
+                roleIndexes.put(a, NO_ROLE_INDEX);
+            }
+        }
+        return new AuthorizationMatrix(decisions, roleIndexes, roles);
+    }
+
+    /**
+     * Get the decision of an action.
+     *
+     * @param action Business action
+     * @return The decision
+     */
+    public Decision getDecision(final Action action) {
+        return this.decisions.get(action);
+    }
+
+    /**
+     * Get the role index of an action.
+     *
+     * @param action Business action
+     * @return The role index, or {@code -1} if the decision is not {@link Decision#ROLE}
+     */
+    public int getRoleIndex(final Action action) {
+        return this.roleIndexes.get(action);
+    }
+
+    /**
+     * Get the role name of an action.
+     *
+     * @param action Business action
+     * @return The role name, or {@code null} if the decision is not {@link Decision#ROLE}
+     */
+    public String getRole(final Action action) {
+        return this.roles.get(action);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{decisions=").append(decisions)
+                .append(", roles=").append(roles)
+                .append('}').toString();
+    }
+
+    /**
+     * Authorization decision of an action.
+     */
+    public enum Decision {
+
+        /**
+         * Full access, no authentication needed.
+         */
+        PUBLIC,
+
+        /**
+         * Full access for authenticated user, no role needed.
+         */
+        PERMIT_ALL,
+
+        /**
+         * Unauthorized operation.
+         */
+        DENY_ALL,
+
+        /**
+         * Access for authenticated user in a role.
+         */
+        ROLE;
+
+        /**
+         * Get the decision of a role.
+         *
+         * @param role Role name or pseudo role
+         * @return The decision
+         */
+        static Decision of(final String role) {
+            Decision decision;
+            if (Objects.equals(role, HappiSecurityManager.PUBLIC)) {
+                decision = PUBLIC;
+            } else if (Objects.equals(role, HappiSecurityManager.PERMIT_ALL)) {
+                decision = PERMIT_ALL;
+            } else if (Objects.equals(role, HappiSecurityManager.DENY_ALL)) {
+                decision = DENY_ALL;
+            } else {
+                decision = ROLE;
+            }
+            return decision;
+        }
+    }
+}
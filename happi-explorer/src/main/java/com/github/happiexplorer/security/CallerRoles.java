@@ -0,0 +1,67 @@
+package com.github.happiexplorer.security;
+
+import java.util.BitSet;
+
+/**
+ * Roles of an authenticated caller, as a set of role indexes of {@link HappiSecurityManager}.
+ * Computed once per authentication from the groups of the caller, the groups are the roles.
+ * A role indexed after the computation is unknown, the security context must be asked instead.
+ */
+public final class CallerRoles {
+
+    /**
+     * Name of the request attribute of the caller roles.
+     */
+    public static final String ATTRIBUTE = CallerRoles.class.getName();
+
+    /**
+     * Role indexes of the caller.
+     */
+    private final BitSet roles;
+
+    /**
+     * Number of indexed roles when computed.
+     */
+    private final int indexed;
+
+    /**
+     * Internal constructor.
+     * Instances are created by {@link HappiSecurityManager}.
+     *
+     * @param roles   Role indexes of the caller
+     * @param indexed Number of indexed roles when computed
+     */
+    CallerRoles(final BitSet roles, final int indexed) {
+        this.roles = (BitSet) roles.clone();
+        this.indexed = indexed;
+    }
+
+    /**
+     * Check if a role index is known by this set.
+     *
+     * @param index Role index
+     * @return The value {@code true} if the role was indexed when this set was computed,
+     * otherwise the value {@code false} is returned
+     */
+    public boolean isKnown(final int index) {
+        return index >= 0 && index < this.indexed;
+    }
+
+    /**
+     * Check if the caller is in a role.
+     *
+     * @param index Known role index
+     * @return The value {@code true} if the caller is in the role, otherwise the value {@code false} is returned
+     */
+    public boolean contains(final int index) {
+        return this.roles.get(index);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{roles=").append(roles)
+                .append(", indexed=").append(indexed)
+                .append('}').toString();
+    }
+}
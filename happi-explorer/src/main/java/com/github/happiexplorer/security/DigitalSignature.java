@@ -0,0 +1,80 @@
+package com.github.happiexplorer.security;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utility class for verifying an asymmetric signature.
+ * The {@link Signature} instances are reused by thread, like the {@link HashMac} instances.
+ */
+public final class DigitalSignature {
+
+    /**
+     * Reusable {@link Signature} instances of the current thread, by algorithm.
+     */
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Internal constructor.
+     * Instantiation is not allowed.
+     */
+    private DigitalSignature() {
+        throw new UnsupportedOperationException("Instantiation is not allowed");
+    }
+
+    /**
+     * Verify the signature of a part of a binary input.
+     *
+     * @param algorithm Algorithm of the signature
+     * @param key       Public key
+     * @param input     Input bytes
+     * @param offset    Index of the first signed byte
+     * @param length    Number of signed bytes
+     * @param signature Signature to verify
+     * @return The value {@code true} if the signature is valid,
+     * otherwise the value {@code false} is returned, also if the key does not match the algorithm
+     */
+    public static boolean verify(
+            final String algorithm,
+            final PublicKey key,
+            final byte[] input,
+            final int offset,
+            final int length,
+            final byte[] signature) {
+
+        boolean valid;
+        try {
+            var verifier = getSignature(algorithm);
+            verifier.initVerify(key);
+            verifier.update(input, offset, length);
+            valid = verifier.verify(signature);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException(ex);
+        } catch (GeneralSecurityException ex) {
+            valid = false;
+        }
+        return valid;
+    }
+
+    /**
+     * Get the reusable {@link Signature} instance of the current thread.
+     *
+     * @param algorithm Algorithm of the signature
+     * @return A {@link Signature} instance, not initialized
+     * @throws NoSuchAlgorithmException If the algorithm is not supported
+     */
+    private static Signature getSignature(final String algorithm) throws NoSuchAlgorithmException {
+        var signatures = SIGNATURES.get();
+        var signature = signatures.get(algorithm);
+        if (Objects.isNull(signature)) {
+            signature = Signature.getInstance(algorithm);
+            signatures.put(algorithm, signature);
+        }
+        return signature;
+    }
+}
@@ -1,15 +1,36 @@
 package com.github.happiexplorer.security;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.security.DeclareRoles;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Simple security manager.
+ * The configuration is published as an immutable snapshot, a read does not take any lock.
+ * The values of a watched configuration file override the values set by code,
+ * the file is reloaded when it changes and the listeners are notified of each new snapshot.
  */
 @ApplicationScoped
 public class HappiSecurityManager {
@@ -29,15 +50,70 @@ public class HappiSecurityManager {
      */
     public static final String PUBLIC = "@Public";
 
+    /**
+     * Standard <i>JNDI</i> name of the default managed scheduled executor.
+     */
+    private static final String MANAGED_SCHEDULER_NAME = "java:comp/DefaultManagedScheduledExecutorService";
+
+    /**
+     * Interval between two checks of the configuration file (in second).
+     */
+    private static final long CHECK_INTERVAL = 10L;
+
     /**
      * Application roles.
      */
     private final Set<String> roles;
 
     /**
-     * Additional configuration.
+     * Role indexes by role name, for the role sets of the callers.
+     */
+    private final Map<String, Integer> roleIndexes;
+
+    /**
+     * Configuration values set by code, unmodifiable.
+     */
+    private Map<Configuration, String> values;
+
+    /**
+     * Configuration values of the watched file, unmodifiable.
+     */
+    private Map<Configuration, String> fileValues;
+
+    /**
+     * Listeners notified of each new configuration snapshot.
+     */
+    private final List<Consumer<SecurityConfiguration>> listeners;
+
+    /**
+     * Current configuration snapshot.
+     */
+    private volatile SecurityConfiguration configuration;
+
+    /**
+     * Watched configuration file, {@code null} if none.
+     */
+    private Path file;
+
+    /**
+     * Modification time of the watched file when loaded.
+     */
+    private FileTime lastModified;
+
+    /**
+     * Scheduler checking the watched file, {@code null} if no file is watched.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Indicate if the scheduler is managed by the server.
+     */
+    private boolean managed;
+
+    /**
+     * Periodic check of the watched file, {@code null} if no file is watched.
      */
-    private final Properties configuration;
+    private ScheduledFuture<?> check;
 
     /**
      * Default constructor.
@@ -45,7 +121,11 @@ public class HappiSecurityManager {
      */
     public HappiSecurityManager() {
         this.roles = new HashSet<>();
-        this.configuration = new Properties();
+        this.roleIndexes = new ConcurrentHashMap<>();
+        this.values = Map.of();
+        this.fileValues = Map.of();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.configuration = SecurityConfiguration.empty();
     }
 
     /**
@@ -90,24 +170,72 @@ public class HappiSecurityManager {
         return Set.copyOf(this.roles);
     }
 
+    /**
+     * Get the index of a role, the role is indexed if absent.
+     * The indexes are stable, a new role takes the next index.
+     *
+     * @param role A role
+     * @return The role index
+     */
+    public int indexOfRole(final String role) {
+        var index = this.roleIndexes.get(role);
+        if (Objects.isNull(index)) {
+            synchronized (this.roleIndexes) {
+                index = this.roleIndexes.computeIfAbsent(role, r -> this.roleIndexes.size());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Compute the role set of a caller from its groups.
+     * The groups which are not indexed roles are ignored.
+     *
+     * @param groups Groups of the caller
+     * @return The role set of the caller
+     */
+    public CallerRoles toCallerRoles(final Set<String> groups) {
+        var indexed = this.roleIndexes.size();
+        var bits = new BitSet(indexed);
+        for (var g : groups) {
+            var index = this.roleIndexes.get(g);
+            if (Objects.nonNull(index) && index < indexed) {
+                bits.set(index);
+            }
+        }
+        return new CallerRoles(bits, indexed);
+    }
+
     /**
      * Load configuration for this security manager.
-     * Erase previous existing configuration.
+     * The values are added to the existing configuration, the unknown keys are ignored.
      *
      * @param configuration New configuration
+     * @throws IllegalArgumentException If a value cannot be converted
      */
-    public void setConfiguration(final Properties configuration) {
-        this.configuration.putAll(configuration);
+    public synchronized void setConfiguration(final Properties configuration) {
+        var next = new EnumMap<Configuration, String>(Configuration.class);
+        next.putAll(this.values);
+        next.putAll(toValues(configuration));
+        this.publish(next, this.fileValues);
     }
 
     /**
      * Add or replace a specific configuration.
      *
      * @param key   Name of the property
-     * @param value The value associated with this key
+     * @param value The value associated with this key, {@code null} to remove the value
+     * @throws IllegalArgumentException If the value cannot be converted
      */
-    public void putConfiguration(final Configuration key, String value) {
-        this.configuration.setProperty(key.name(), value);
+    public synchronized void putConfiguration(final Configuration key, String value) {
+        var next = new EnumMap<Configuration, String>(Configuration.class);
+        next.putAll(this.values);
+        if (Objects.isNull(value)) {
+            next.remove(key);
+        } else {
+            next.put(key, value);
+        }
+        this.publish(next, this.fileValues);
     }
 
     /**
@@ -117,7 +245,162 @@ public class HappiSecurityManager {
      * @return The value associated with this key or {@code null}
      */
     public String getConfiguration(final Configuration key) {
-        return this.configuration.getProperty(key.name());
+        return this.configuration.get(key);
+    }
+
+    /**
+     * Retrieve the current configuration snapshot.
+     *
+     * @return The current configuration snapshot
+     */
+    public SecurityConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * Add a listener notified of each new configuration snapshot.
+     * The listener is called by the thread changing the configuration.
+     *
+     * @param listener Listener of the configuration
+     */
+    public void addConfigurationListener(final Consumer<SecurityConfiguration> listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Watch a configuration file, in the format of {@link Properties} with the names of {@link Configuration}.
+     * The file is loaded immediately, and then checked periodically and reloaded when it changes.
+     * If the file cannot be reloaded, the previous configuration is kept.
+     *
+     * @param file Configuration file
+     * @throws IllegalArgumentException If the file cannot be loaded
+     */
+    public synchronized void watchConfiguration(final Path file) {
+        this.file = file;
+        this.lastModified = null;
+        try {
+            this.reloadConfiguration(file);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Invalid configuration file : " + file, ex);
+        }
+
+        if (Objects.isNull(this.scheduler)) {
+            this.scheduler = lookupManagedScheduler();
+            this.managed = Objects.nonNull(this.scheduler);
+            if (!this.managed) {
+                this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+            }
+            this.check = this.scheduler.scheduleWithFixedDelay(this::checkConfiguration, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop watching the configuration file, release the scheduler if it is not managed by the server.
+     * The periodic check is cancelled in both cases, a managed scheduler outlives this bean.
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (Objects.nonNull(this.check)) {
+            this.check.cancel(false);
+        }
+        if (Objects.nonNull(this.scheduler) && !this.managed) {
+            this.scheduler.shutdown();
+        }
+        this.check = null;
+        this.scheduler = null;
+    }
+
+    /**
+     * Check the watched configuration file, and reload it if it has changed.
+     */
+    private synchronized void checkConfiguration() {
+        if (Objects.nonNull(this.file)) {
+            try {
+                this.reloadConfiguration(this.file);
+            } catch (IOException | RuntimeException ex) {
+                // Keep the previous configuration, the file can be in the middle of an update.
+            }
+        }
+    }
+
+    /**
+     * Reload a configuration file if it has changed.
+     *
+     * @param path Configuration file
+     * @throws IOException              If the file cannot be read
+     * @throws IllegalArgumentException If a value cannot be converted
+     */
+    private void reloadConfiguration(final Path path) throws IOException {
+        var modified = Files.getLastModifiedTime(path);
+        if (!Objects.equals(modified, this.lastModified)) {
+            var properties = new Properties();
+            try (var reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+
+            this.publish(this.values, toValues(properties));
+            this.lastModified = modified;
+        }
+    }
+
+    /**
+     * Replace the configuration values, publish a new configuration snapshot if the configuration has changed,
+     * and notify the listeners.
+     * Nothing is replaced if a value cannot be converted.
+     * Must be called with the lock of this manager.
+     *
+     * @param nextValues     New configuration values set by code
+     * @param nextFileValues New configuration values of the watched file
+     * @throws IllegalArgumentException If a value cannot be converted
+     */
+    private void publish(
+            final Map<Configuration, String> nextValues,
+            final Map<Configuration, String> nextFileValues) {
+
+        var merged = new EnumMap<Configuration, String>(Configuration.class);
+        merged.putAll(nextValues);
+        merged.putAll(nextFileValues);
+        var next = SecurityConfiguration.of(merged);
+        this.values = Map.copyOf(nextValues);
+        this.fileValues = Map.copyOf(nextFileValues);
+        if (!Objects.equals(next, this.configuration)) {
+            this.configuration = next;
+            for (var l : this.listeners) {
+                l.accept(next);
+            }
+        }
+    }
+
+    /**
+     * Convert properties to configuration values, the unknown keys are ignored.
+     *
+     * @param properties Properties with the names of {@link Configuration}
+     * @return The configuration values
+     */
+    private static Map<Configuration, String> toValues(final Properties properties) {
+        var converted = new EnumMap<Configuration, String>(Configuration.class);
+        for (var c : Configuration.values()) {
+            var value = properties.getProperty(c.name());
+            if (Objects.nonNull(value)) {
+                converted.put(c, value.strip());
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Find the default managed scheduled executor of the server.
+     *
+     * @return The managed scheduled executor, or {@code null} if the server does not provide it
+     */
+    private static ScheduledExecutorService lookupManagedScheduler() {
+        ScheduledExecutorService managedScheduler;
+        try {
+            managedScheduler = (ScheduledExecutorService) new InitialContext().lookup(MANAGED_SCHEDULER_NAME);
+        } catch (NamingException | ClassCastException ex) {
+            managedScheduler = null;
+        }
+        return managedScheduler;
     }
 
     /**
@@ -154,6 +437,18 @@ public class HappiSecurityManager {
         /**
          * Secret value for compute the <i>JWT</i> signature.
          */
-        SECRET
+        SECRET,
+
+        /**
+         * Path of a local <i>JWKS</i> file, with the public keys for the <i>RSA</i> and <i>EC</i> signatures.
+         * The file is reloaded when it changes.
+         */
+        JWKS_FILE,
+
+        /**
+         * Maximum number of validated tokens in the cache, no cache if zero.
+         * The default value is {@link TokenValidationCache#DEFAULT_MAXIMUM_SIZE}.
+         */
+        TOKEN_CACHE_SIZE
     }
 }
@@ -5,12 +5,24 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Utility class for a hashing text.
+ * The {@link Mac} instances are reused by thread, a {@link Mac} is not thread-safe.
+ * A reused instance keeps its secret key, it is initialized again only when the key changes.
  */
 public final class HashMac {
 
+    /**
+     * Reusable {@link Mac} instances of the current thread, by algorithm.
+     */
+    private static final ThreadLocal<Map<String, KeyedMac>> MACS = ThreadLocal.withInitial(HashMap::new);
+
     /**
      * Internal constructor.
      * Instantiation is not allowed.
@@ -25,26 +37,86 @@ public final class HashMac {
      * @param algorithm Algorithm for hashing
      * @param key       Secret key
      * @param input     Input text
-     * @return The input hashed with the secret key
+     * @return The input hashed with the secret key, as lower case hexadecimal text
      */
     public static String execute(final String algorithm, final String key, final String input) {
+        var bytes = input.getBytes(StandardCharsets.UTF_8);
+        var hash = sign(algorithm, key.getBytes(StandardCharsets.UTF_8), bytes, 0, bytes.length);
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * Hash a part of a binary input with a secret key.
+     *
+     * @param algorithm Algorithm for hashing
+     * @param key       Secret key
+     * @param input     Input bytes
+     * @param offset    Index of the first byte to hash
+     * @param length    Number of bytes to hash
+     * @return The input hashed with the secret key
+     */
+    public static byte[] sign(
+            final String algorithm,
+            final byte[] key,
+            final byte[] input,
+            final int offset,
+            final int length) {
 
-        var secret = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), algorithm);
-        var hexCode = new StringBuilder();
         try {
-            var mac = Mac.getInstance(algorithm);
-            mac.init(secret);
-            var bytes = mac.doFinal(input.getBytes(StandardCharsets.UTF_8));
-            for (var b : bytes) {
-                var hex = Integer.toHexString(0xFF & b);
-                if (hex.length() == 1) {
-                    hexCode.append('0');
-                }
-                hexCode.append(hex);
-            }
+            var mac = getMac(algorithm, key);
+            mac.update(input, offset, length);
+            return mac.doFinal();
         } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
             throw new IllegalArgumentException(ex);
         }
-        return hexCode.toString();
+    }
+
+    /**
+     * Get the reusable {@link Mac} instance of the current thread, initialized with a secret key.
+     *
+     * @param algorithm Algorithm for hashing
+     * @param key       Secret key
+     * @return A {@link Mac} instance, initialized and reset
+     * @throws NoSuchAlgorithmException If the algorithm is not supported
+     * @throws InvalidKeyException      If the secret key is not valid for the algorithm
+     */
+    private static Mac getMac(final String algorithm, final byte[] key) throws NoSuchAlgorithmException, InvalidKeyException {
+        var macs = MACS.get();
+        var keyed = macs.get(algorithm);
+        if (Objects.isNull(keyed)) {
+            keyed = new KeyedMac(Mac.getInstance(algorithm));
+            macs.put(algorithm, keyed);
+        }
+        if (!Arrays.equals(keyed.key, key)) {
+            keyed.key = null;
+            keyed.mac.init(new SecretKeySpec(key, algorithm));
+            keyed.key = key.clone();
+        }
+        return keyed.mac;
+    }
+
+    /**
+     * A {@link Mac} instance with the secret key of its initialization.
+     */
+    private static final class KeyedMac {
+
+        /**
+         * Reusable {@link Mac} instance.
+         */
+        private final Mac mac;
+
+        /**
+         * Secret key of the initialization, {@code null} if not initialized.
+         */
+        private byte[] key;
+
+        /**
+         * Internal constructor.
+         *
+         * @param mac Reusable {@link Mac} instance, not initialized
+         */
+        private KeyedMac(final Mac mac) {
+            this.mac = mac;
+        }
     }
 }
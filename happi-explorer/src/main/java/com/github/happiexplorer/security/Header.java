@@ -26,6 +26,12 @@ public final class Header {
     @JsonbProperty("typ")
     private String type;
 
+    /**
+     * Identifier of the verification key.
+     */
+    @JsonbProperty("kid")
+    private String keyId;
+
     /**
      * Full <i>JSON</i> object of <i>JWT</i> header.
      */
@@ -49,14 +55,15 @@ public final class Header {
         } else {
             var header = (Header) o;
             equality = Objects.equals(algorithm, header.algorithm)
-                    && Objects.equals(type, header.type);
+                    && Objects.equals(type, header.type)
+                    && Objects.equals(keyId, header.keyId);
         }
         return equality;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithm, type);
+        return Objects.hash(algorithm, type, keyId);
     }
 
     // Getters and setters...
@@ -84,4 +91,12 @@ public final class Header {
     public void setType(final String type) {
         this.type = type;
     }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public void setKeyId(final String keyId) {
+        this.keyId = keyId;
+    }
 }
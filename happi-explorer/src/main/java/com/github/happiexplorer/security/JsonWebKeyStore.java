@@ -0,0 +1,172 @@
+package com.github.happiexplorer.security;
+
+import com.github.happiexplorer.Jsons;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of the public keys for the <i>JWT</i> signature, loaded from a local <i>JWKS</i> file.
+ * The file is set by {@link HappiSecurityManager.Configuration#JWKS_FILE}.
+ * The modification time of the file is checked at most once per interval,
+ * a modified file is parsed and replaces the keys atomically.
+ * If the file cannot be read or parsed, the previous keys are kept.
+ */
+@ApplicationScoped
+public class JsonWebKeyStore {
+
+    /**
+     * Minimum interval between two checks of the file (in nanosecond).
+     */
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toNanos(10L);
+
+    /**
+     * Current keys with their source file.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Time of the last check of the file (in nanosecond).
+     */
+    private volatile long lastCheck;
+
+    /**
+     * Security manager for this module.
+     */
+    @Inject
+    private HappiSecurityManager securityManager;
+
+    /**
+     * Cache of validated tokens, cleared when the keys change.
+     */
+    @Inject
+    private TokenValidationCache tokenCache;
+
+    /**
+     * Default constructor.
+     * This class is injectable, don't call this constructor explicitly.
+     */
+    public JsonWebKeyStore() {
+        this.snapshot = new Snapshot(null, null, JsonWebKeys.empty());
+    }
+
+    /**
+     * Get the current public keys.
+     * The file is reloaded if it has changed since the last check.
+     *
+     * @return The current public keys, empty if no file is configured
+     */
+    public JsonWebKeys getKeys() {
+        var now = System.nanoTime();
+        var file = this.securityManager.getConfiguration().getJwksFile();
+        var current = this.snapshot;
+        if (!Objects.equals(current.getFile(), file) || now - this.lastCheck >= CHECK_INTERVAL) {
+            current = this.reload(file, now);
+        }
+        return current.getKeys();
+    }
+
+    /**
+     * Reload the keys if the file has changed.
+     *
+     * @param file Path of the <i>JWKS</i> file, {@code null} if none
+     * @param now  Time of the check (in nanosecond)
+     * @return The current keys with their source file
+     */
+    private synchronized Snapshot reload(final String file, final long now) {
+        var current = this.snapshot;
+        this.lastCheck = now;
+        if (Objects.isNull(file)) {
+            if (Objects.nonNull(current.getFile())) {
+                current = this.replace(new Snapshot(null, null, JsonWebKeys.empty()));
+            }
+        } else {
+            try {
+                var path = Path.of(file);
+                var modified = Files.getLastModifiedTime(path);
+                if (!Objects.equals(current.getFile(), file)
+                        || !Objects.equals(current.getLastModified(), modified)) {
+
+                    try (var input = Files.newInputStream(path)) {
+                        var keys = JsonWebKeys.parse(Jsons.parse(input));
+                        current = this.replace(new Snapshot(file, modified, keys));
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                // Keep the previous keys, the file can be in the middle of an update.
+                // The file is recorded so that the next attempt waits for the check interval.
+                if (!Objects.equals(current.getFile(), file)) {
+                    current = new Snapshot(file, null, current.getKeys());
+                    this.snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replace the current keys, the validated tokens are removed.
+     *
+     * @param next New keys with their source file
+     * @return The new keys with their source file
+     */
+    private Snapshot replace(final Snapshot next) {
+        this.snapshot = next;
+        this.tokenCache.clear();
+        return next;
+    }
+
+    /**
+     * Public keys loaded from a file.
+     */
+    private static final class Snapshot {
+
+        /**
+         * Path of the <i>JWKS</i> file, {@code null} if none.
+         */
+        private final String file;
+
+        /**
+         * Modification time of the file when loaded, {@code null} if none.
+         */
+        private final FileTime lastModified;
+
+        /**
+         * Public keys.
+         */
+        private final JsonWebKeys keys;
+
+        /**
+         * Construct a snapshot of the keys.
+         *
+         * @param file         Path of the <i>JWKS</i> file, {@code null} if none
+         * @param lastModified Modification time of the file when loaded, {@code null} if none
+         * @param keys         Public keys
+         */
+        private Snapshot(final String file, final FileTime lastModified, final JsonWebKeys keys) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.keys = keys;
+        }
+
+        // Getters...
+
+        String getFile() {
+            return file;
+        }
+
+        FileTime getLastModified() {
+            return lastModified;
+        }
+
+        JsonWebKeys getKeys() {
+            return keys;
+        }
+    }
+}
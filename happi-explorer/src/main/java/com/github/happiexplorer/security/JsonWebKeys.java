@@ -0,0 +1,189 @@
+package com.github.happiexplorer.security;
+
+import com.github.happiexplorer.ExplorerException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable set of public keys for the <i>JWT</i> signature, parsed from a <i>JWKS</i> document.
+ * The keys are parsed once, the verification never reads the key material again.
+ * Only the <i>RSA</i> and <i>EC</i> keys for signature are kept.
+ */
+public final class JsonWebKeys {
+
+    /**
+     * Empty set of keys.
+     */
+    private static final JsonWebKeys EMPTY = new JsonWebKeys(Map.of());
+
+    /**
+     * Key identifier used when the key has no identifier.
+     */
+    private static final String NO_KEY_ID = "";
+
+    /**
+     * Key type for <i>RSA</i>.
+     */
+    private static final String RSA_KEY_TYPE = "RSA";
+
+    /**
+     * Key type for elliptic curve.
+     */
+    private static final String EC_KEY_TYPE = "EC";
+
+    /**
+     * Key usage for signature.
+     */
+    private static final String SIGNATURE_USE = "sig";
+
+    /**
+     * Standard curve names by <i>JWK</i> curve name.
+     */
+    private static final Map<String, String> SUPPORTED_CURVE = Map.of(
+            "P-256", "secp256r1",
+            "P-384", "secp384r1",
+            "P-521", "secp521r1"
+    );
+
+    /**
+     * Public keys by key identifier.
+     */
+    private final Map<String, PublicKey> keys;
+
+    /**
+     * Internal constructor.
+     * Use the factory methods.
+     *
+     * @param keys Public keys by key identifier
+     */
+    private JsonWebKeys(final Map<String, PublicKey> keys) {
+        this.keys = Map.copyOf(keys);
+    }
+
+    /**
+     * Get an empty set of keys.
+     *
+     * @return An empty set of keys
+     */
+    public static JsonWebKeys empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Parse a <i>JWKS</i> document.
+     *
+     * @param document <i>JWKS</i> document, with the array of keys
+     * @return A new set of keys
+     * @throws ExplorerException If a key cannot be parsed
+     */
+    public static JsonWebKeys parse(final JsonObject document) {
+        var keys = new HashMap<String, PublicKey>();
+        for (var k : document.getJsonArray("keys").getValuesAs(JsonObject.class)) {
+            var use = k.getString("use", SIGNATURE_USE);
+            var type = k.getString("kty", "");
+            if (Objects.equals(use, SIGNATURE_USE)
+                    && (Objects.equals(type, RSA_KEY_TYPE) || Objects.equals(type, EC_KEY_TYPE))) {
+
+                keys.put(k.getString("kid", NO_KEY_ID), toPublicKey(type, k));
+            }
+        }
+        return new JsonWebKeys(keys);
+    }
+
+    /**
+     * Get a public key.
+     * A token without key identifier is verified with the single key of the set.
+     *
+     * @param keyId Key identifier from the token header, may be {@code null}
+     * @return An option of public key
+     */
+    public Optional<PublicKey> get(final String keyId) {
+        PublicKey key;
+        if (Objects.nonNull(keyId)) {
+            key = this.keys.get(keyId);
+        } else if (this.keys.size() == 1) {
+            key = this.keys.values().iterator().next();
+        } else {
+            key = null;
+        }
+        return Optional.ofNullable(key);
+    }
+
+    /**
+     * Get the number of keys.
+     *
+     * @return The number of keys
+     */
+    public int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Convert a <i>JWK</i> to a public key.
+     *
+     * @param type Key type
+     * @param key  <i>JWK</i> object
+     * @return The public key
+     * @throws ExplorerException If the key cannot be parsed
+     */
+    private static PublicKey toPublicKey(final String type, final JsonObject key) {
+        try {
+            PublicKey publicKey;
+            if (Objects.equals(type, RSA_KEY_TYPE)) {
+                var spec = new RSAPublicKeySpec(toInteger(key, "n"), toInteger(key, "e"));
+                publicKey = KeyFactory.getInstance(RSA_KEY_TYPE).generatePublic(spec);
+            } else {
+                var curve = SUPPORTED_CURVE.get(key.getString("crv", ""));
+                if (Objects.isNull(curve)) {
+                    throw new ExplorerException("Unsupported 'crv' : " + key.getString("crv", ""));
+                }
+                var parameters = AlgorithmParameters.getInstance(EC_KEY_TYPE);
+                parameters.init(new ECGenParameterSpec(curve));
+                var point = new ECPoint(toInteger(key, "x"), toInteger(key, "y"));
+                var spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+                publicKey = KeyFactory.getInstance(EC_KEY_TYPE).generatePublic(spec);
+            }
+            return publicKey;
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException ex) {
+            throw new ExplorerException("Invalid JWK : " + key.getString("kid", NO_KEY_ID), ex);
+        }
+    }
+
+    /**
+     * Decode a positive integer of a <i>JWK</i>, encoded in base 64 for URL.
+     *
+     * @param key  <i>JWK</i> object
+     * @param name Member name
+     * @return The positive integer
+     */
+    private static BigInteger toInteger(final JsonObject key, final String name) {
+        var value = key.get(name);
+        if (!(value instanceof JsonString text)) {
+            throw new ExplorerException("Missing JWK member : " + name);
+        }
+        return new BigInteger(1, Base64.getUrlDecoder().decode(text.getString()));
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{keys=").append(keys.keySet())
+                .append('}').toString();
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.security.enterprise.AuthenticationException;
 import jakarta.security.enterprise.AuthenticationStatus;
 import jakarta.security.enterprise.authentication.mechanism.http.HttpAuthenticationMechanism;
 import jakarta.security.enterprise.authentication.mechanism.http.HttpMessageContext;
+import jakarta.security.enterprise.identitystore.CredentialValidationResult;
 import jakarta.security.enterprise.identitystore.IdentityStoreHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -37,6 +38,12 @@ public class OAuth2Authentication implements HttpAuthenticationMechanism {
     @Inject
     private HappiSecurityManager securityManager;
 
+    /**
+     * Cache of validated tokens.
+     */
+    @Inject
+    private TokenValidationCache tokenCache;
+
     /**
      * Default constructor.
      * This class is injectable, don't call this constructor explicitly.
@@ -62,23 +69,19 @@ public class OAuth2Authentication implements HttpAuthenticationMechanism {
             authenticationStatus = httpMessageContext.doNothing();
         } else if (isBearer) {
 
-            var credential = authorization
+            var token = authorization
                     .map(e -> e.replace(BEARER_TOKEN, ""))
                     .map(String::trim)
-                    .filter(e -> !e.isBlank())
-                    .map(TokenCredentialFactory::of)
-                    .orElseGet(TokenCredentialFactory::of);
-
-            if (credential.isValid()) {
-                var result = identityStoreHandler.validate(credential);
-                authenticationStatus = httpMessageContext.notifyContainerAboutLogin(result);
+                    .orElse("");
 
+            var cached = this.tokenCache.get(token);
+            if (cached.isPresent()) {
+                request.setAttribute(CallerRoles.ATTRIBUTE, cached.get().getCallerRoles());
+                authenticationStatus = httpMessageContext.notifyContainerAboutLogin(cached.get().getResult());
             } else {
-                authenticationStatus = httpMessageContext.responseUnauthorized();
+                authenticationStatus = this.validateToken(token, request, httpMessageContext);
             }
 
-            credential.clear();
-
         } else if (httpMessageContext.isProtected()) {
             authenticationStatus = httpMessageContext.responseUnauthorized();
         } else {
@@ -88,16 +91,57 @@ public class OAuth2Authentication implements HttpAuthenticationMechanism {
         return authenticationStatus;
     }
 
+    /**
+     * Validate a token with the identity stores, and store the valid result in the cache.
+     * The role set of the caller is computed once and stored in the request.
+     *
+     * @param token              Raw encoded token
+     * @param request            Current request
+     * @param httpMessageContext Context of the authentification
+     * @return The authentification status
+     */
+    private AuthenticationStatus validateToken(
+            final String token,
+            final HttpServletRequest request,
+            final HttpMessageContext httpMessageContext) {
+
+        AuthenticationStatus authenticationStatus;
+
+        var credential = Optional.of(token)
+                .filter(e -> !e.isBlank())
+                .map(TokenCredentialFactory::of)
+                .orElseGet(TokenCredentialFactory::of);
+
+        if (credential.isValid()) {
+            var result = identityStoreHandler.validate(credential);
+            if (Objects.equals(result.getStatus(), CredentialValidationResult.Status.VALID)
+                    && credential instanceof TokenCredential tokenCredential) {
+
+                var callerRoles = this.securityManager.toCallerRoles(result.getCallerGroups());
+                var exp = Optional
+                        .ofNullable(tokenCredential.decodePayload().getExpirationTime())
+                        .orElse(0L);
+
+                request.setAttribute(CallerRoles.ATTRIBUTE, callerRoles);
+                this.tokenCache.put(token, result, callerRoles, exp);
+            }
+            authenticationStatus = httpMessageContext.notifyContainerAboutLogin(result);
+
+        } else {
+            authenticationStatus = httpMessageContext.responseUnauthorized();
+        }
+
+        credential.clear();
+        return authenticationStatus;
+    }
+
     /**
      * Check if security is enabled in this module.
      *
      * @return The value {@code true} if security is enabled, otherwise the value {@code false} is returned
      */
     private boolean isSecured() {
-        var secured = this.securityManager
-                .getConfiguration(HappiSecurityManager.Configuration.JAKARTA_SECURITY);
-
-        return Objects.equals(Boolean.parseBoolean(secured), Boolean.TRUE);
+        return this.securityManager.getConfiguration().isJakartaSecurity();
     }
 
 }
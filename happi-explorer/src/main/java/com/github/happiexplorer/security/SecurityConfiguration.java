@@ -0,0 +1,187 @@
+package com.github.happiexplorer.security;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the configuration of the security manager.
+ * The values are converted once when the snapshot is created,
+ * a read on the request path is a plain field load.
+ */
+public final class SecurityConfiguration {
+
+    /**
+     * Empty configuration, with the default values.
+     */
+    private static final SecurityConfiguration EMPTY = new SecurityConfiguration(Map.of());
+
+    /**
+     * Raw values by key.
+     */
+    private final Map<HappiSecurityManager.Configuration, String> values;
+
+    /**
+     * Claim name for the username.
+     */
+    private final String claimUsername;
+
+    /**
+     * Claim name for the roles.
+     */
+    private final String claimGroups;
+
+    /**
+     * Indicates if the manager endpoint is available.
+     */
+    private final boolean managerEndpoint;
+
+    /**
+     * Indicates if the discovery endpoint is available.
+     */
+    private final boolean discoveryEndpoint;
+
+    /**
+     * Indicates if the security is enabled.
+     */
+    private final boolean jakartaSecurity;
+
+    /**
+     * Secret value for compute the <i>JWT</i> signature, {@code null} if none.
+     */
+    private final String secret;
+
+    /**
+     * Path of the <i>JWKS</i> file, {@code null} if none.
+     */
+    private final String jwksFile;
+
+    /**
+     * Maximum number of validated tokens in the cache.
+     */
+    private final int tokenCacheSize;
+
+    /**
+     * Internal constructor.
+     * Use the factory methods.
+     *
+     * @param values Raw values by key
+     */
+    private SecurityConfiguration(final Map<HappiSecurityManager.Configuration, String> values) {
+        this.values = Map.copyOf(values);
+        this.claimUsername = values.get(HappiSecurityManager.Configuration.TOKEN_CLAIM_USERNAME);
+        this.claimGroups = values.get(HappiSecurityManager.Configuration.TOKEN_CLAIM_GROUPS);
+        this.managerEndpoint = Boolean.parseBoolean(values.get(HappiSecurityManager.Configuration.MANAGER_ENDPOINT));
+        this.discoveryEndpoint = Boolean.parseBoolean(values.get(HappiSecurityManager.Configuration.DISCOVERY_ENDPOINT));
+        this.jakartaSecurity = Boolean.parseBoolean(values.get(HappiSecurityManager.Configuration.JAKARTA_SECURITY));
+        this.secret = values.get(HappiSecurityManager.Configuration.SECRET);
+        this.jwksFile = values.get(HappiSecurityManager.Configuration.JWKS_FILE);
+        this.tokenCacheSize = toSize(values.get(HappiSecurityManager.Configuration.TOKEN_CACHE_SIZE));
+    }
+
+    /**
+     * Get the empty configuration.
+     *
+     * @return The empty configuration
+     */
+    public static SecurityConfiguration empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a configuration snapshot.
+     *
+     * @param values Raw values by key
+     * @return A new configuration snapshot
+     * @throws IllegalArgumentException If a value cannot be converted
+     */
+    public static SecurityConfiguration of(final Map<HappiSecurityManager.Configuration, String> values) {
+        return new SecurityConfiguration(values);
+    }
+
+    /**
+     * Get a raw value.
+     *
+     * @param key Key of the value
+     * @return The raw value or {@code null}
+     */
+    public String get(final HappiSecurityManager.Configuration key) {
+        return this.values.get(key);
+    }
+
+    /**
+     * Convert the size of the token cache.
+     *
+     * @param value Raw value, {@code null} for the default value
+     * @return The size, zero if the cache is disabled
+     * @throws IllegalArgumentException If the value is not a number
+     */
+    private static int toSize(final String value) {
+        int size;
+        if (Objects.isNull(value)) {
+            size = TokenValidationCache.DEFAULT_MAXIMUM_SIZE;
+        } else {
+            size = Math.max(0, Integer.parseInt(value.strip()));
+        }
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        boolean eq;
+        if (this == obj) {
+            eq = true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            eq = false;
+        } else {
+            var configuration = (SecurityConfiguration) obj;
+            eq = Objects.equals(values, configuration.values);
+        }
+        return eq;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(values);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{keys=").append(values.keySet())
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    public String getClaimUsername() {
+        return claimUsername;
+    }
+
+    public String getClaimGroups() {
+        return claimGroups;
+    }
+
+    public boolean isManagerEndpoint() {
+        return managerEndpoint;
+    }
+
+    public boolean isDiscoveryEndpoint() {
+        return discoveryEndpoint;
+    }
+
+    public boolean isJakartaSecurity() {
+        return jakartaSecurity;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public String getJwksFile() {
+        return jwksFile;
+    }
+
+    public int getTokenCacheSize() {
+        return tokenCacheSize;
+    }
+}
@@ -2,45 +2,65 @@ package com.github.happiexplorer.security;
 
 import com.github.happiexplorer.ExplorerException;
 import com.github.happiexplorer.Jsons;
+import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
 import jakarta.security.enterprise.credential.Credential;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.BiConsumer;
 
 /**
  * Credential for token authentication.
  * The token format is: {@code <header>.<payload>.<sign>}
+ * The token is verified on its bytes, the segments are found in a single scan,
+ * each segment is decoded and parsed once, and the signature is compared in constant time.
+ * The symmetric signature is accepted as hexadecimal text or as base 64 for URL,
+ * the asymmetric signature is verified with the public key identified by the header.
  */
 public final class TokenCredential implements Credential {
 
     /**
-     * Header index in encoded token.
+     * Separator of the segments in encoded token.
      */
-    private static final int HEADER_INDEX = 0;
+    private static final byte SEGMENT_SEPARATOR = '.';
 
     /**
-     * Payload index in encoded token.
+     * Claim name of the token type in header.
      */
-    private static final int PAYLOAD_INDEX = 1;
+    private static final String TYPE_CLAIM = "typ";
 
     /**
-     * Signature index in encoded token.
+     * Claim name of the signature algorithm in header.
      */
-    private static final int SIGNATURE_INDEX = 2;
+    private static final String ALGORITHM_CLAIM = "alg";
 
     /**
-     * Number of element in token.
+     * Claim name of the key identifier in header.
      */
-    private static final int TOKENS_LENGTH = 3;
+    private static final String KEY_ID_CLAIM = "kid";
 
     /**
-     * Token split.
+     * Encoded token, as bytes.
      */
-    private String[] tokens;
+    private byte[] token;
+
+    /**
+     * Index of the separator between the header and the payload.
+     */
+    private int headerEnd;
+
+    /**
+     * Index of the separator between the payload and the signature.
+     */
+    private int payloadEnd;
 
     /**
      * Secret for compute the token signature.
@@ -48,28 +68,63 @@ public final class TokenCredential implements Credential {
     private String secret;
 
     /**
-     * Construct a token credential.
+     * Public keys for the asymmetric signature.
+     */
+    private JsonWebKeys keys;
+
+    /**
+     * Decoded header, {@code null} until decoded.
+     */
+    private Header header;
+
+    /**
+     * Decoded payload, {@code null} until decoded.
+     */
+    private Payload payload;
+
+    /**
+     * Construct a token credential, for a symmetric signature only.
      *
      * @param token  Full encoded token
      * @param secret Secret for compute the token signature
      */
     public TokenCredential(final String token, final String secret) {
+        this(token, secret, JsonWebKeys.empty());
+    }
+
+    /**
+     * Construct a token credential.
+     *
+     * @param token  Full encoded token
+     * @param secret Secret for compute the symmetric token signature
+     * @param keys   Public keys for the asymmetric token signature
+     */
+    public TokenCredential(final String token, final String secret, final JsonWebKeys keys) {
         this.secret = secret;
-        this.tokens = token.split("\\.");
-        if (tokens.length != TOKENS_LENGTH) {
+        this.keys = keys;
+        this.token = token.getBytes(StandardCharsets.US_ASCII);
+        this.headerEnd = indexOfSeparator(this.token, 0);
+        this.payloadEnd = indexOfSeparator(this.token, this.headerEnd + 1);
+        if (this.headerEnd == -1
+                || this.payloadEnd == -1
+                || indexOfSeparator(this.token, this.payloadEnd + 1) != -1) {
+
             throw new IllegalArgumentException("Wrong token format, expected <header>.<payload>.<sign>");
         }
     }
 
     @Override
     public boolean isCleared() {
-        return Objects.isNull(this.tokens) && Objects.isNull(this.secret);
+        return Objects.isNull(this.token) && Objects.isNull(this.secret);
     }
 
     @Override
     public void clear() {
-        this.tokens = null;
+        this.token = null;
         this.secret = null;
+        this.keys = null;
+        this.header = null;
+        this.payload = null;
     }
 
     @Override
@@ -82,20 +137,44 @@ public final class TokenCredential implements Credential {
 
     /**
      * Decode as object the <i>JWT</i> header.
+     * The header is decoded once.
      *
      * @return The header as object
      */
     public Header decodeHeader() {
-        return decode(Header.class, Header::setRawData, this.tokens[HEADER_INDEX]);
+        if (Objects.isNull(this.header)) {
+            var rawData = decode(this.token, 0, this.headerEnd);
+            var decoded = new Header();
+            decoded.setType(getClaimAsString(rawData, TYPE_CLAIM));
+            decoded.setAlgorithm(getClaimAsString(rawData, ALGORITHM_CLAIM));
+            decoded.setKeyId(getClaimAsString(rawData, KEY_ID_CLAIM));
+            decoded.setRawData(rawData);
+            this.header = decoded;
+        }
+        return this.header;
     }
 
     /**
      * Decode as object the <i>JWT</i> payload.
+     * The payload is decoded once.
      *
      * @return The payload as object
      */
     public Payload decodePayload() {
-        return decode(Payload.class, Payload::setRawData, this.tokens[PAYLOAD_INDEX]);
+        if (Objects.isNull(this.payload)) {
+            var rawData = decode(this.token, this.headerEnd + 1, this.payloadEnd);
+            var decoded = new Payload();
+            decoded.setIssuer(getClaimAsString(rawData, "iss"));
+            decoded.setSubject(getClaimAsString(rawData, "sub"));
+            decoded.setAudience(getClaimAsString(rawData, "aud"));
+            decoded.setExpirationTime(getClaimAsLong(rawData, "exp"));
+            decoded.setNotBeforeTime(getClaimAsLong(rawData, "nbf"));
+            decoded.setIssuedAtTime(getClaimAsLong(rawData, "iat"));
+            decoded.setJwtId(getClaimAsString(rawData, "jti"));
+            decoded.setRawData(rawData);
+            this.payload = decoded;
+        }
+        return this.payload;
     }
 
     /**
@@ -104,23 +183,97 @@ public final class TokenCredential implements Credential {
      * @return The signature
      */
     public String getSignature() {
-        return this.tokens[SIGNATURE_INDEX];
+        var start = this.payloadEnd + 1;
+        return new String(this.token, start, this.token.length - start, StandardCharsets.US_ASCII);
     }
 
     /**
      * Verify if the token signature is valid.
+     * The signature is computed on the bytes of the header and of the payload, without copy.
      *
      * @return The value {@code true} if the token signature is valid,
      * otherwise the value {@code false} is returned
+     * @throws ExplorerException If the header contains an unsupported token type of algorithm
      */
     private boolean isValidSignature() {
-        var base64Header = this.tokens[HEADER_INDEX];
-        var base64Payload = this.tokens[PAYLOAD_INDEX];
-        var sign = this.getSignature();
-        var alg = extractAlgorithmFromHeader();
-        var input = String.join(".", base64Header, base64Payload);
-        var output = HashMac.execute(alg, this.secret, input);
-        return Objects.equals(sign, output);
+        var decoded = decodeHeader();
+        if (!Objects.equals(decoded.getType(), TokenCredentialFactory.SUPPORTED_TYPE)) {
+            throw new ExplorerException("Unsupported 'typ' : " + decoded.getType());
+        }
+
+        var mac = TokenCredentialFactory.SUPPORTED_ALGORITHM.get(decoded.getAlgorithm());
+        var signature = TokenCredentialFactory.SUPPORTED_SIGNATURE_ALGORITHM.get(decoded.getAlgorithm());
+
+        boolean valid;
+        if (Objects.nonNull(mac)) {
+            valid = this.isValidHashMac(mac);
+        } else if (Objects.nonNull(signature)) {
+            valid = this.isValidDigitalSignature(signature, decoded.getKeyId());
+        } else {
+            throw new ExplorerException("Unsupported 'alg' : " + decoded.getAlgorithm());
+        }
+        return valid;
+    }
+
+    /**
+     * Verify if the token symmetric signature is valid, with the secret.
+     *
+     * @param algorithm Algorithm for hashing
+     * @return The value {@code true} if the token signature is valid,
+     * otherwise the value {@code false} is returned
+     */
+    private boolean isValidHashMac(final String algorithm) {
+        boolean valid;
+        if (Objects.isNull(this.secret)) {
+            valid = false;
+        } else {
+            var key = this.secret.getBytes(StandardCharsets.UTF_8);
+            var expected = HashMac.sign(algorithm, key, this.token, 0, this.payloadEnd);
+            var actual = this.decodeSignature(expected.length);
+            valid = MessageDigest.isEqual(expected, actual);
+        }
+        return valid;
+    }
+
+    /**
+     * Verify if the token asymmetric signature is valid, with a public key.
+     *
+     * @param algorithm Algorithm of the signature
+     * @param keyId     Key identifier from the header, may be {@code null}
+     * @return The value {@code true} if the token signature is valid,
+     * otherwise the value {@code false} is returned, also if the key is unknown
+     */
+    private boolean isValidDigitalSignature(final String algorithm, final String keyId) {
+        var signature = this.decodeSignature(-1);
+        return this.keys
+                .get(keyId)
+                .map(k -> DigitalSignature.verify(algorithm, k, this.token, 0, this.payloadEnd, signature))
+                .orElse(Boolean.FALSE);
+    }
+
+    /**
+     * Decode the signature from token.
+     *
+     * @param length Expected length of a hexadecimal signature (in byte), {@code -1} if not hexadecimal
+     * @return The signature, empty if it cannot be decoded
+     */
+    private byte[] decodeSignature(final int length) {
+        var start = this.payloadEnd + 1;
+        var end = this.token.length;
+
+        byte[] signature;
+        try {
+            if (length > 0 && end - start == length * 2) {
+                var hex = new String(this.token, start, end - start, StandardCharsets.US_ASCII);
+                signature = HexFormat.of().parseHex(hex);
+            } else {
+                var buffer = Base64.getUrlDecoder().decode(ByteBuffer.wrap(this.token, start, end - start));
+                signature = Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+            }
+        } catch (IllegalArgumentException ex) {
+            signature = new byte[0];
+        }
+        return signature;
     }
 
     /**
@@ -130,52 +283,87 @@ public final class TokenCredential implements Credential {
      * otherwise the value {@code false} is returned
      */
     private boolean isValidTime() {
-        var payload = decodePayload();
+        var decoded = decodePayload();
         var now = System.currentTimeMillis() / 1000L;
-        var exp = Optional.ofNullable(payload.getExpirationTime()).orElse(0L);
-        var nbf = Optional.ofNullable(payload.getNotBeforeTime()).orElse(0L);
+        var exp = Optional.ofNullable(decoded.getExpirationTime()).orElse(0L);
+        var nbf = Optional.ofNullable(decoded.getNotBeforeTime()).orElse(0L);
 
         return exp > now && nbf < now;
     }
 
     /**
-     * Extract the algorithm from header.
+     * Find the next segment separator.
      *
-     * @return The algorithm used for the signature
-     * @throws ExplorerException If the header contains an unsupported token type of algorithm
+     * @param token Encoded token, as bytes
+     * @param from  Index to start the search
+     * @return The index of the separator, or {@code -1} if there is no more separator
      */
-    private String extractAlgorithmFromHeader() {
-        var header = decodeHeader();
-        if (!Objects.equals(header.getType(), TokenCredentialFactory.SUPPORTED_TYPE)) {
-            throw new ExplorerException("Unsupported 'typ' : " + header.getAlgorithm());
+    private static int indexOfSeparator(final byte[] token, final int from) {
+        var index = -1;
+        for (var i = from; i < token.length && index == -1; i++) {
+            if (token[i] == SEGMENT_SEPARATOR) {
+                index = i;
+            }
         }
-        var alg = TokenCredentialFactory.SUPPORTED_ALGORITHM.get(header.getAlgorithm());
+        return index;
+    }
+
+    /**
+     * Decode a <i>JWT</i> segment as <i>JSON</i> object.
+     *
+     * @param token Encoded token, as bytes
+     * @param start Index of the first byte of the segment
+     * @param end   Index after the last byte of the segment
+     * @return The <i>JSON</i> object of the segment
+     */
+    private static JsonObject decode(final byte[] token, final int start, final int end) {
+        var buffer = Base64.getUrlDecoder().decode(ByteBuffer.wrap(token, start, end - start));
+        var input = new ByteArrayInputStream(buffer.array(), buffer.position(), buffer.remaining());
+        return Jsons.parse(input);
+    }
 
-        return Optional
-                .ofNullable(alg)
-                .orElseThrow(() -> new ExplorerException("Unsupported 'alg' :" + alg));
+    /**
+     * Get a claim as text.
+     *
+     * @param rawData <i>JSON</i> object of a <i>JWT</i> segment
+     * @param name    Claim name
+     * @return The claim value, or {@code null} if the claim is missing or is not a text or a number
+     */
+    private static String getClaimAsString(final JsonObject rawData, final String name) {
+        var value = rawData.get(name);
+        String claim;
+        if (value instanceof JsonString text) {
+            claim = text.getString();
+        } else if (value instanceof JsonNumber number) {
+            claim = number.toString();
+        } else {
+            claim = null;
+        }
+        return claim;
     }
 
     /**
-     * Decode <i>JWT</i> element as object.
+     * Get a claim as number, a numeric text is accepted.
      *
-     * @param type   Object class representing the <i>JSON</i> element
-     * @param setter Setter for store the raw <i>JSON</i> object data
-     * @param base64 Base64 encoded data
-     * @param <T>    Generic type
-     * @return An instance of object representing the <i>JSON</i> element
-     */
-    private static <T> T decode(
-            final Class<T> type,
-            final BiConsumer<T, JsonObject> setter,
-            final String base64) {
-
-        var data = Base64.getUrlDecoder().decode(base64);
-        var json = new String(data, StandardCharsets.UTF_8);
-        var jsonObject = Jsons.parse(json);
-        var entity = Jsons.parse(type, json);
-        setter.accept(entity, jsonObject);
-        return entity;
+     * @param rawData <i>JSON</i> object of a <i>JWT</i> segment
+     * @param name    Claim name
+     * @return The claim value, or {@code null} if the claim is missing or is not a number
+     */
+    private static Long getClaimAsLong(final JsonObject rawData, final String name) {
+        var value = rawData.get(name);
+        Long claim;
+        if (value instanceof JsonNumber number) {
+            claim = number.longValue();
+        } else if (value instanceof JsonString text) {
+            try {
+                claim = Long.parseLong(text.getString().strip());
+            } catch (NumberFormatException ex) {
+                claim = null;
+            }
+        } else {
+            claim = null;
+        }
+        return claim;
     }
 
 }
@@ -16,7 +16,7 @@ public final class TokenCredentialFactory {
     static final String SUPPORTED_TYPE = "JWT";
 
     /**
-     * Supported algorithm between <i>Java</i> and <i>JWT</i>.
+     * Supported symmetric algorithm between <i>Java</i> and <i>JWT</i>, with the shared secret.
      */
     static final Map<String, String> SUPPORTED_ALGORITHM = Map.of(
             "HS256", "HmacSHA256",
@@ -24,6 +24,19 @@ public final class TokenCredentialFactory {
             "HS512", "HmacSHA512"
     );
 
+    /**
+     * Supported asymmetric algorithm between <i>Java</i> and <i>JWT</i>, with the public keys of the <i>JWKS</i> file.
+     * The <i>ECDSA</i> signature of a <i>JWT</i> is the concatenation of the two integers, not a <i>DER</i> sequence.
+     */
+    static final Map<String, String> SUPPORTED_SIGNATURE_ALGORITHM = Map.of(
+            "RS256", "SHA256withRSA",
+            "RS384", "SHA384withRSA",
+            "RS512", "SHA512withRSA",
+            "ES256", "SHA256withECDSAinP1363Format",
+            "ES384", "SHA384withECDSAinP1363Format",
+            "ES512", "SHA512withECDSAinP1363Format"
+    );
+
     /**
      * Internal constructor.
      * Instantiation is not allowed.
@@ -40,8 +53,9 @@ public final class TokenCredentialFactory {
      */
     public static Credential of(final String token) {
         var securityManager = CDI.current().select(HappiSecurityManager.class).get();
-        var secret = securityManager.getConfiguration(HappiSecurityManager.Configuration.SECRET);
-        return new TokenCredential(token, secret);
+        var secret = securityManager.getConfiguration().getSecret();
+        var keys = CDI.current().select(JsonWebKeyStore.class).get().getKeys();
+        return new TokenCredential(token, secret, keys);
     }
 
     /**
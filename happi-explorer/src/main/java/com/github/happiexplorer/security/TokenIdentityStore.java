@@ -40,11 +40,9 @@ public class TokenIdentityStore implements IdentityStore {
             var payload = tokenCredential.decodePayload();
             var jsonObject = payload.getRawData();
 
-            var claimUsername = happiSecurityManager
-                    .getConfiguration(HappiSecurityManager.Configuration.TOKEN_CLAIM_USERNAME);
-
-            var claimGroups = happiSecurityManager
-                    .getConfiguration(HappiSecurityManager.Configuration.TOKEN_CLAIM_GROUPS);
+            var configuration = happiSecurityManager.getConfiguration();
+            var claimUsername = configuration.getClaimUsername();
+            var claimGroups = configuration.getClaimGroups();
 
             var callerName = jsonObject.getJsonString(claimUsername).getString();
             var groups = Set.copyOf(jsonObject.getJsonArray(claimGroups).getValuesAs(JsonString::getString));
@@ -0,0 +1,305 @@
+package com.github.happiexplorer.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.security.enterprise.identitystore.CredentialValidationResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of validated tokens, the same bearer token is often reused by a client for many requests.
+ * A token is identified by a digest of the token and of the secret, the raw token is never stored.
+ * An entry expires at the expiration time of its token, a change of the secret invalidates all entries.
+ */
+@ApplicationScoped
+public class TokenValidationCache {
+
+    /**
+     * Default maximum number of validated tokens.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Algorithm of the token digest.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * Validated tokens by digest.
+     */
+    private final Map<String, ValidatedToken> tokens;
+
+    /**
+     * Digests of the validated tokens by expiration time, the next token to expire first.
+     */
+    private final ConcurrentSkipListSet<Map.Entry<Long, String>> expirations;
+
+    /**
+     * Number of validations reused.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of validations not found in the cache.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Security manager for this module.
+     */
+    @Inject
+    private HappiSecurityManager securityManager;
+
+    /**
+     * Default constructor.
+     * This class is injectable, don't call this constructor explicitly.
+     */
+    public TokenValidationCache() {
+        this.tokens = new ConcurrentHashMap<>();
+        this.expirations = new ConcurrentSkipListSet<>(
+                Map.Entry.<Long, String>comparingByKey().thenComparing(Map.Entry.comparingByValue())
+        );
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Remove all validated tokens when the configuration changes,
+     * the validation result depends on the claims names of the configuration.
+     */
+    @PostConstruct
+    void listenConfiguration() {
+        this.securityManager.addConfigurationListener(c -> this.clear());
+    }
+
+    /**
+     * Get the validated token, if the token has been validated and has not expired.
+     *
+     * @param token Raw encoded token
+     * @return An option of validated token
+     */
+    public Optional<ValidatedToken> get(final String token) {
+        var now = now();
+        var key = this.digest(token);
+        var validated = this.tokens.get(key);
+
+        Optional<ValidatedToken> result;
+        if (Objects.isNull(validated)) {
+            result = Optional.empty();
+        } else if (validated.getExpirationTime() <= now) {
+            if (this.tokens.remove(key, validated)) {
+                this.expirations.remove(Map.entry(validated.getExpirationTime(), key));
+            }
+            result = Optional.empty();
+        } else {
+            result = Optional.of(validated);
+        }
+
+        if (result.isPresent()) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Store the validation result and the roles of a token until its expiration time.
+     * The expired entries are removed first, then the next tokens to expire while the cache is full.
+     *
+     * @param token          Raw encoded token
+     * @param result         Valid result of the identity stores
+     * @param callerRoles    Role set of the caller
+     * @param expirationTime Expiration time of the token (in second)
+     */
+    public void put(
+            final String token,
+            final CredentialValidationResult result,
+            final CallerRoles callerRoles,
+            final long expirationTime) {
+
+        var now = now();
+        var maximumSize = this.getMaximumSize();
+        if (expirationTime > now && maximumSize > 0) {
+            var key = this.digest(token);
+            var previous = this.tokens.put(key, new ValidatedToken(result, callerRoles, expirationTime));
+            if (Objects.nonNull(previous)) {
+                this.expirations.remove(Map.entry(previous.getExpirationTime(), key));
+            }
+            this.expirations.add(Map.entry(expirationTime, key));
+
+            var next = this.expirations.pollFirst();
+            while (Objects.nonNull(next) && (next.getKey() <= now || this.tokens.size() > maximumSize)) {
+                this.evict(next);
+                next = this.expirations.pollFirst();
+            }
+            if (Objects.nonNull(next)) {
+                this.expirations.add(next);
+            }
+        }
+    }
+
+    /**
+     * Get the number of validated tokens in the cache, expired tokens included.
+     *
+     * @return The number of validated tokens
+     */
+    public int size() {
+        return this.tokens.size();
+    }
+
+    /**
+     * Remove all validated tokens.
+     */
+    public void clear() {
+        this.tokens.clear();
+        this.expirations.clear();
+    }
+
+    /**
+     * Get the maximum number of validated tokens, from the configuration of the security manager.
+     *
+     * @return The maximum number of validated tokens, no cache if zero
+     */
+    public int getMaximumSize() {
+        return this.securityManager.getConfiguration().getTokenCacheSize();
+    }
+
+    /**
+     * Get the ratio of validations reused.
+     *
+     * @return The hit rate, between zero and one
+     */
+    public double getHitRate() {
+        var h = this.hits.sum();
+        var total = h + this.misses.sum();
+        double rate;
+        if (total == 0L) {
+            rate = 0.0;
+        } else {
+            rate = (double) h / total;
+        }
+        return rate;
+    }
+
+    /**
+     * Remove a validated token, unless it has been stored again with another expiration time.
+     *
+     * @param expiration Digest of the token by expiration time
+     */
+    private void evict(final Map.Entry<Long, String> expiration) {
+        this.tokens.computeIfPresent(
+                expiration.getValue(),
+                (k, v) -> v.getExpirationTime() == expiration.getKey() ? null : v
+        );
+    }
+
+    /**
+     * Compute the digest of a token, with the current secret.
+     *
+     * @param token Raw encoded token
+     * @return The digest as hexadecimal text
+     */
+    private String digest(final String token) {
+        var secret = Objects.requireNonNullElse(this.securityManager.getConfiguration().getSecret(), "");
+        try {
+            var digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(secret.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Get the current time.
+     *
+     * @return The current time (in second)
+     */
+    private static long now() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{size=").append(tokens.size())
+                .append(", hits=").append(hits)
+                .append(", misses=").append(misses)
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Validation result of a token.
+     */
+    public static final class ValidatedToken {
+
+        /**
+         * Valid result of the identity stores.
+         */
+        private final CredentialValidationResult result;
+
+        /**
+         * Role set of the caller.
+         */
+        private final CallerRoles callerRoles;
+
+        /**
+         * Expiration time of the token (in second).
+         */
+        private final long expirationTime;
+
+        /**
+         * Construct a validated token.
+         *
+         * @param result         Valid result of the identity stores
+         * @param callerRoles    Role set of the caller
+         * @param expirationTime Expiration time of the token (in second)
+         */
+        private ValidatedToken(
+                final CredentialValidationResult result,
+                final CallerRoles callerRoles,
+                final long expirationTime) {
+
+            this.result = result;
+            this.callerRoles = callerRoles;
+            this.expirationTime = expirationTime;
+        }
+
+        // Getters...
+
+        public CredentialValidationResult getResult() {
+            return result;
+        }
+
+        public CallerRoles getCallerRoles() {
+            return callerRoles;
+        }
+
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+    }
+}
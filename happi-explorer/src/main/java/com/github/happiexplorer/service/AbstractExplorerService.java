@@ -1,17 +1,39 @@
 package com.github.happiexplorer.service;
 
 import com.github.happiexplorer.*;
+import com.github.happiexplorer.persistence.AdditionalCriteriaPredicate;
+import com.github.happiexplorer.persistence.CountMode;
 import com.github.happiexplorer.persistence.ExplorerDAO;
+import com.github.happiexplorer.persistence.FilterQuery;
 import com.github.happiexplorer.persistence.Queries;
+import com.github.happiexplorer.persistence.QueryExecutor;
+import com.github.happiexplorer.security.AuthorizationMatrix;
+import com.github.happiexplorer.security.CallerRoles;
 import com.github.happiexplorer.security.HappiSecurityManager;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.persistence.EntityExistsException;
 import jakarta.security.enterprise.SecurityContext;
+import jakarta.servlet.http.HttpServletRequest;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Base class with basic business logic.
@@ -32,6 +54,13 @@ public abstract class AbstractExplorerService implements ExplorerService {
     @Inject
     protected HappiSecurityManager securityManager;
 
+    /**
+     * Current request, with the role set of the caller.
+     * Looked up lazily, a service can be called outside a request.
+     */
+    @Inject
+    protected Instance<HttpServletRequest> request;
+
     /**
      * Manager for all entry point.
      */
@@ -44,6 +73,12 @@ public abstract class AbstractExplorerService implements ExplorerService {
     @Inject
     protected ExplorerDAO dao;
 
+    /**
+     * Executor for concurrent tasks.
+     */
+    @Inject
+    protected QueryExecutor queryExecutor;
+
     /**
      * Default constructor.
      * Subclass should be an injectable class, don't call this constructor explicitly.
@@ -57,29 +92,296 @@ public abstract class AbstractExplorerService implements ExplorerService {
             final String name,
             final Map<String, List<String>> parameters) {
 
-        var entry = this.explorerManager.<E, D, M, AbstractExplorerService>resolve(name);
-        checkAuthorization(entry, Action.FILTER);
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FILTER);
+
+        var queries = Queries.convertQueries(parameters);
+        var cache = resolved.getResultCache();
+        var key = List.of(Action.FILTER, queries);
+
+        return cache
+                .flatMap(c -> c.<PaginationData<D>>get(key))
+                .orElseGet(() -> {
+                    var paginationData = this.filter(resolved, queries);
+                    cache.ifPresent(c -> c.put(key, paginationData));
+                    return paginationData;
+                });
+    }
+
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> PaginationData<Map<String, Object>> select(
+            final String name,
+            final Map<String, List<String>> parameters) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FILTER);
 
-        var entityClass = entry.getEntityClass();
-        var mapper = this.explorerManager.invokeMapper(entry);
         var queries = Queries.convertQueries(parameters);
+        var cache = resolved.getResultCache();
+        var key = List.of(Action.FILTER, queries);
 
-        var entities = this.dao.find(entityClass, queries, this::onFilter);
-        var size = this.dao.size(entityClass, queries, this::onFilter);
+        return cache
+                .flatMap(c -> c.<PaginationData<Map<String, Object>>>get(key))
+                .orElseGet(() -> {
+                    var entityClass = entry.getEntityClass();
+                    var plans = resolved.getQueryPlans();
+                    PageReader<Map<String, Object>> reader = lookahead -> this.dao
+                            .select(entityClass, queries, entry.getSelectableAttributes(), this::onFilter, lookahead, plans);
+
+                    var paginationData = this.paginate(resolved, queries, reader, Function.identity());
+                    cache.ifPresent(c -> c.put(key, paginationData));
+                    return paginationData;
+                });
+    }
+
+    /**
+     * Filter data from the database.
+     *
+     * @param resolved Resolved entry point
+     * @param queries  Web queries
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @return A pagination object with filtered data
+     */
+    private <E, D, M extends EntityMapper<E, D>> PaginationData<D> filter(
+            final ResolvedEntry<E, D, M, ?> resolved,
+            final Set<FilterQuery> queries) {
+
+        var entityClass = resolved.getEntry().getEntityClass();
+        var fetch = resolved.getEntry().getFetchPlan();
+        var plans = resolved.getQueryPlans();
+        var explorerDAO = this.dao;
+        AdditionalCriteriaPredicate<E, E> additional = this::onFilter;
+        var reader = new PageReader<E>() {
+            @Override
+            public List<E> find(final int lookahead) {
+                return explorerDAO.find(entityClass, queries, additional, lookahead, fetch, plans);
+            }
+
+            @Override
+            public List<E> seek() {
+                return explorerDAO.seek(entityClass, queries, additional, fetch, plans);
+            }
+
+            @Override
+            public String cursor(final E last) {
+                return explorerDAO.cursor(entityClass, queries, last);
+            }
+        };
+
+        return this.paginate(resolved, queries, reader, e -> this.fromEntity(resolved, e));
+    }
+
+    /**
+     * Convert entities to data transfer objects, in parallel above the threshold of the entry point.
+     * The entities are split in a chunk per processor, the first chunk is mapped by the current thread.
+     * The page is mapped sequentially if an entity is not fully loaded, lazy loading is not thread-safe.
+     *
+     * @param resolved Resolved entry point
+     * @param entities Entities
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @return The data transfer objects, in the order of the entities
+     */
+    private <E, D, M extends EntityMapper<E, D>> List<D> fromEntity(
+            final ResolvedEntry<E, D, M, ?> resolved,
+            final List<E> entities) {
+
+        var mapper = resolved.getMapper();
+        var threshold = resolved.getEntry().getParallelMappingThreshold();
+        var size = entities.size();
+
+        List<D> data;
+        if (threshold <= 0 || size < threshold || !this.dao.isLoaded(resolved.getEntry().getEntityClass(), entities)) {
+            data = mapper.fromEntity(entities);
+        } else {
+            var parallelism = Runtime.getRuntime().availableProcessors();
+            var chunkSize = (size + parallelism - 1) / parallelism;
+
+            var chunks = new ArrayList<CompletableFuture<List<D>>>();
+            try {
+                for (var from = chunkSize; from < size; from += chunkSize) {
+                    var chunk = entities.subList(from, Math.min(from + chunkSize, size));
+                    chunks.add(this.queryExecutor.supply(() -> mapper.fromEntity(chunk)));
+                }
+
+                data = new ArrayList<>(size);
+                data.addAll(mapper.fromEntity(entities.subList(0, Math.min(chunkSize, size))));
+                for (var c : chunks) {
+                    data.addAll(QueryExecutor.join(c));
+                }
+            } finally {
+                // Do not map the remaining chunks after a failure
+                chunks.forEach(c -> c.cancel(true));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Read a page and count the filtered elements.
+     *
+     * @param resolved Resolved entry point
+     * @param queries  Web queries
+     * @param reader   Reader of the page elements
+     * @param mapping  Function converting the page elements to data
+     * @param <E>      Type of persistent entity
+     * @param <R>      Type of page element
+     * @param <T>      Type of data
+     * @return A pagination object with filtered data
+     */
+    private <E, R, T> PaginationData<T> paginate(
+            final ResolvedEntry<E, ?, ?, ?> resolved,
+            final Set<FilterQuery> queries,
+            final PageReader<R> reader,
+            final Function<List<R>, List<T>> mapping) {
+
+        var entry = resolved.getEntry();
+        var entityClass = entry.getEntityClass();
+        var plans = resolved.getQueryPlans();
+        var countMode = Queries.getCountMode(queries);
         var pageSize = Queries.getPageSize(queries);
         var pageNumber = Queries.getPageNumber(queries);
-        var pageCount = Queries.getPageCount(queries, size);
+        var keyset = Queries.isKeyset(queries);
+        var threshold = Queries.getCountThreshold(queries);
+
+        CompletableFuture<Long> concurrentSize;
+        if (!entry.isConcurrentCount()) {
+            concurrentSize = null;
+        } else if (Objects.equals(countMode, CountMode.ESTIMATE)) {
+            concurrentSize = this.dao.sizeAsync(entityClass, queries, this::onFilter, threshold, plans);
+        } else if (Objects.equals(countMode, CountMode.EXACT)) {
+            concurrentSize = this.dao.sizeAsync(entityClass, queries, this::onFilter, plans);
+        } else {
+            concurrentSize = null;
+        }
+
+        // The pending count is cancelled if the page read or the mapping fails,
+        // a count not started yet does not take a second connection.
+        try {
+            List<R> elements;
+            String next;
+            boolean hasMore;
+            if (keyset) {
+                elements = reader.seek();
+                hasMore = pageSize > 0 && elements.size() > pageSize;
+                if (hasMore) {
+                    elements = elements.subList(0, pageSize);
+                    next = reader.cursor(elements.get(pageSize - 1));
+                } else {
+                    next = null;
+                }
+            } else if (Objects.equals(countMode, CountMode.NONE)) {
+                elements = reader.find(1);
+                hasMore = pageSize > 0 && elements.size() > pageSize;
+                if (hasMore) {
+                    elements = elements.subList(0, pageSize);
+                }
+                next = null;
+            } else {
+                elements = reader.find(0);
+                hasMore = false;
+                next = null;
+            }
+
+            long size;
+            boolean sizeExact;
+            switch (countMode) {
+                case NONE -> {
+                    size = (long) Math.max(0, pageNumber - 1) * pageSize + elements.size();
+                    sizeExact = false;
+                }
+                case ESTIMATE -> {
+                    long count;
+                    if (Objects.nonNull(concurrentSize)) {
+                        count = QueryExecutor.join(concurrentSize);
+                    } else {
+                        count = this.dao.size(entityClass, queries, this::onFilter, threshold, plans);
+                    }
+                    size = Math.min(count, threshold);
+                    sizeExact = count <= threshold;
+                }
+                default -> {
+                    if (Objects.nonNull(concurrentSize)) {
+                        size = QueryExecutor.join(concurrentSize);
+                    } else {
+                        size = this.dao.size(entityClass, queries, this::onFilter, plans);
+                    }
+                    sizeExact = true;
+                }
+            }
+
+            if (!keyset && !Objects.equals(countMode, CountMode.NONE)) {
+                hasMore = !sizeExact || size > (long) pageNumber * pageSize;
+            }
+            var pageCount = Queries.getPageCount(queries, size);
+
+            var data = mapping.apply(elements);
+
+            var paginationData = new PaginationData<T>();
+            paginationData.setData(data);
+            paginationData.setSize(size);
+            paginationData.setSizeExact(sizeExact);
+            paginationData.setHasMore(hasMore);
+            paginationData.setPageSize(pageSize);
+            paginationData.setPageNumber(pageNumber);
+            paginationData.setPageCount(pageCount);
+            paginationData.setNext(next);
+            return paginationData;
+        } finally {
+            if (Objects.nonNull(concurrentSize)) {
+                concurrentSize.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> void checkExport(
+            final String name,
+            final Map<String, List<String>> parameters) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FILTER);
+
+        var queries = Queries.convertQueries(parameters);
+        this.dao.check(entry.getEntityClass(), queries, entry.getFetchPlan());
+    }
+
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> long export(
+            final String name,
+            final Map<String, List<String>> parameters,
+            final Consumer<D> consumer) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FILTER);
 
-        var data = mapper.fromEntity(entities);
+        var entityClass = entry.getEntityClass();
+        var mapper = resolved.getMapper();
+        var batchSize = entry.getBatchSize();
+        var queries = Queries.convertQueries(parameters);
 
-        var paginationData = new PaginationData<D>();
-        paginationData.setData(data);
-        paginationData.setSize(size);
-        paginationData.setPageSize(pageSize);
-        paginationData.setPageNumber(pageNumber);
-        paginationData.setPageCount(pageCount);
-        return paginationData;
+        var fetch = entry.getFetchPlan();
+        var plans = resolved.getQueryPlans();
 
+        var count = 0L;
+        try (var entities = this.dao.stream(entityClass, queries, this::onFilter, batchSize, fetch, plans)) {
+            var iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(mapper.fromEntity(iterator.next()));
+                count++;
+                if (count % batchSize == 0) {
+                    this.dao.clear();
+                }
+            }
+        }
+        return count;
     }
 
     @Override
@@ -87,42 +389,74 @@ public abstract class AbstractExplorerService implements ExplorerService {
             final String name,
             final String id) {
 
-        var entry = this.explorerManager.<E, D, M, AbstractExplorerService>resolve(name);
-        checkAuthorization(entry, Action.FIND);
+        return this.<E, D, M>find(name, id, v -> {
+            // NO-OP
+        });
+    }
+
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> Optional<D> find(
+            final String name,
+            final String id,
+            final Consumer<String> version) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FIND);
 
         var entityClass = entry.getEntityClass();
-        var mapper = this.explorerManager.invokeMapper(entry);
+        var mapper = resolved.getMapper();
         var uuid = mapper.mapId(id);
+        var cache = resolved.getResultCache();
+        var key = List.of(Action.FIND, uuid);
 
-        return this.dao
-                .find(entityClass, uuid)
-                .map(mapper::fromEntity)
-                .map(this::onFind);
+        var found = cache.flatMap(c -> c.<VersionedData<D>>get(key));
+        if (found.isEmpty()) {
+            found = this.dao
+                    .find(entityClass, uuid, entry.getFetchPlan())
+                    .map(e -> new VersionedData<>(
+                            this.onFind(mapper.fromEntity(e)),
+                            this.dao.getVersion(e).map(String::valueOf).orElse(null)
+                    ));
+
+            found.ifPresent(f -> cache.ifPresent(c -> c.put(key, f)));
+        }
+        found.flatMap(VersionedData::getVersion).ifPresent(version);
+        return found.map(VersionedData::getData);
     }
 
     @Override
-    public <E, D, M extends EntityMapper<E, D>, K> K create(
+    public <E, D, M extends EntityMapper<E, D>> Optional<String> version(
             final String name,
-            final JsonObject document) {
+            final String id) {
 
-        var entry = this.explorerManager.<E, D, M, AbstractExplorerService>resolve(name);
-        checkAuthorization(entry, Action.CREATE);
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FIND);
 
-        var dataClass = entry.getDataClass();
-        var mapper = this.explorerManager.invokeMapper(entry);
+        var entityClass = entry.getEntityClass();
+        var mapper = resolved.getMapper();
+        var uuid = mapper.mapId(id);
 
-        var data = Jsons.parse(dataClass, document);
-        Validations.validate(data);
-        var entity = mapper.toEntity(data);
+        return this.dao
+                .findVersion(entityClass, uuid)
+                .map(String::valueOf);
+    }
 
-        if (this.dao.contains(entity)) {
-            throw new ServiceExplorerException("Entity already exist !");
-        }
+    @Override
+    public <E, D, M extends EntityMapper<E, D>, K> K create(
+            final String name,
+            final JsonObject document) {
 
-        entity = this.onCreate(entity);
-        entity = this.dao.save(entity);
-        return this.dao.getPrimaryKey(entity);
+        return this.<E, D, M, K>create(name, t -> Jsons.parse(t, document));
+    }
 
+    @Override
+    public <E, D, M extends EntityMapper<E, D>, K> K create(
+            final String name,
+            final InputStream document) {
+
+        return this.<E, D, M, K>create(name, t -> Jsons.parse(t, document));
     }
 
     @Override
@@ -131,23 +465,34 @@ public abstract class AbstractExplorerService implements ExplorerService {
             final JsonObject document,
             final String id) {
 
-        var entry = this.explorerManager.<E, D, M, AbstractExplorerService>resolve(name);
-        checkAuthorization(entry, Action.UPDATE);
+        this.<E, D, M>update(name, t -> Jsons.parse(t, document), id, null);
+    }
 
-        var entityClass = entry.getEntityClass();
-        var dataClass = entry.getDataClass();
-        var mapper = this.explorerManager.invokeMapper(entry);
-        var uuid = mapper.mapId(id);
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> void update(
+            final String name,
+            final InputStream document,
+            final String id) {
 
-        var data = Jsons.parse(dataClass, document);
-        Validations.validate(data);
-        var entity = this.dao
-                .find(entityClass, uuid)
-                .orElseThrow(() -> new ServiceExplorerException("Entity not exist !"));
+        this.<E, D, M>update(name, t -> Jsons.parse(t, document), id, null);
+    }
 
-        mapper.updateEntity(data, entity);
-        this.onUpdate(entity);
-        //this.dao.save(entity);
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> Optional<String> update(
+            final String name,
+            final InputStream document,
+            final String id,
+            final Set<String> versions) {
+
+        var entity = this.<E, D, M>update(name, t -> Jsons.parse(t, document), id, versions);
+        try {
+            this.dao.flush();
+        } catch (EntityExistsException ex) {
+            throw new EntityConflictException("Unique constraint violation", ex);
+        }
+        return this.dao
+                .getVersion(entity)
+                .map(String::valueOf);
     }
 
     @Override
@@ -155,10 +500,11 @@ public abstract class AbstractExplorerService implements ExplorerService {
             final String name,
             final String id) {
 
-        var entry = this.explorerManager.<E, D, M, AbstractExplorerService>resolve(name);
-        checkAuthorization(entry, Action.DELETE);
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.DELETE);
 
-        var mapper = this.explorerManager.invokeMapper(entry);
+        var mapper = resolved.getMapper();
         var entityClass = entry.getEntityClass();
         var uuid = mapper.mapId(id);
         var entity = this.dao
@@ -167,18 +513,293 @@ public abstract class AbstractExplorerService implements ExplorerService {
 
         this.onRemove(entity);
         this.dao.remove(entity);
+        this.invalidateResultCaches(entityClass);
+    }
+
+    @Override
+    public <E, D, M extends EntityMapper<E, D>> BulkData bulk(
+            final String name,
+            final Stream<JsonValue> documents) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        var batchSize = entry.getBatchSize();
+        var denials = new EnumMap<Action, Optional<ActionDeniedException>>(Action.class);
+
+        var bulkData = new BulkData();
+        var chunk = new ArrayList<BulkItem<E, D>>(batchSize);
+        var iterator = documents.iterator();
+        var index = 0L;
+        while (iterator.hasNext()) {
+            chunk.add(this.prepareBulkItem(resolved, denials, index++, iterator.next()));
+            if (chunk.size() >= batchSize || !iterator.hasNext()) {
+                this.applyBulkChunk(resolved, chunk, bulkData);
+                chunk.clear();
+            }
+        }
+
+        if (bulkData.getFailures() < bulkData.getSize()) {
+            this.invalidateResultCaches(entry.getEntityClass());
+        }
+        return bulkData;
     }
 
     @Override
     public <E, D, M extends EntityMapper<E, D>> boolean exists(final String name, final String id) {
-        var entry = this.explorerManager.<E, D, M, AbstractExplorerService>resolve(name);
-        checkAuthorization(entry, Action.FIND);
-        var mapper = this.explorerManager.invokeMapper(entry);
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.FIND);
+        var mapper = resolved.getMapper();
         var entityClass = entry.getEntityClass();
         var uuid = mapper.mapId(id);
         return this.dao.contains(entityClass, uuid);
     }
 
+    /**
+     * Create a new entity.
+     *
+     * @param name   Web entity name
+     * @param reader Function binding the document to the data transfer object class
+     * @param <E>    Type of persistent entity
+     * @param <D>    Type of data transfer object
+     * @param <M>    Type of mapper
+     * @param <K>    Type of unique identifier
+     * @return The unique identifier of the new resource
+     */
+    private <E, D, M extends EntityMapper<E, D>, K> K create(
+            final String name,
+            final Function<Class<D>, D> reader) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.CREATE);
+
+        var dataClass = entry.getDataClass();
+        var mapper = resolved.getMapper();
+
+        var data = reader.apply(dataClass);
+        Validations.validate(data, entry.getValidationGroups(Action.CREATE));
+        var entity = mapper.toEntity(data);
+
+        entity = this.onCreate(entity);
+        try {
+            entity = this.dao.insert(entity);
+        } catch (EntityExistsException ex) {
+            throw new EntityConflictException("Entity already exist !", ex);
+        }
+        this.invalidateResultCaches(entry.getEntityClass());
+        return this.dao.getPrimaryKey(entity);
+
+    }
+
+    /**
+     * Update an existing entity.
+     *
+     * @param name     Web entity name
+     * @param reader   Function binding the document to the data transfer object class
+     * @param id       Unique identifier
+     * @param versions Expected versions, or {@code null} for an unconditional update
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @return The updated entity
+     * @throws VersionConflictException If the current version is not an expected version
+     */
+    private <E, D, M extends EntityMapper<E, D>> E update(
+            final String name,
+            final Function<Class<D>, D> reader,
+            final String id,
+            final Set<String> versions) {
+
+        var resolved = this.explorerManager.<E, D, M, AbstractExplorerService>lookup(name);
+        var entry = resolved.getEntry();
+        checkAuthorization(resolved, Action.UPDATE);
+
+        var entityClass = entry.getEntityClass();
+        var dataClass = entry.getDataClass();
+        var mapper = resolved.getMapper();
+        var uuid = mapper.mapId(id);
+
+        var data = reader.apply(dataClass);
+        Validations.validate(data, entry.getValidationGroups(Action.UPDATE));
+        var entity = this.dao
+                .find(entityClass, uuid)
+                .orElseThrow(() -> new ServiceExplorerException("Entity not exist !"));
+
+        if (Objects.nonNull(versions)) {
+            var current = this.dao.getVersion(entity).map(String::valueOf);
+            if (current.isEmpty() || !versions.contains(current.get())) {
+                throw new VersionConflictException("Entity has been modified !");
+            }
+        }
+
+        mapper.updateEntity(data, entity);
+        this.onUpdate(entity);
+        this.invalidateResultCaches(entityClass);
+        return entity;
+    }
+
+    /**
+     * Prepare an item of a bulk request, without accessing the database.
+     * The document is bound, validated and mapped, an invalid item is marked as failed.
+     *
+     * @param resolved Resolved entry point
+     * @param denials  Authorization already checked, by action
+     * @param index    Position of the item in the request
+     * @param document <i>JSON</i> document of the item
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @return The prepared item
+     */
+    private <E, D, M extends EntityMapper<E, D>> BulkItem<E, D> prepareBulkItem(
+            final ResolvedEntry<E, D, M, ?> resolved,
+            final Map<Action, Optional<ActionDeniedException>> denials,
+            final long index,
+            final JsonValue document) {
+
+        var entry = resolved.getEntry();
+        var mapper = resolved.getMapper();
+        var item = new BulkItem<E, D>(index);
+        try {
+            if (!(document instanceof JsonObject json)) {
+                throw new ExplorerException("Invalid bulk item, an object is expected");
+            }
+
+            var action = parseBulkAction(json);
+            item.result.setAction(action);
+
+            var denial = denials.computeIfAbsent(action, a -> {
+                try {
+                    this.checkAuthorization(resolved, a);
+                    return Optional.empty();
+                } catch (ActionDeniedException ex) {
+                    return Optional.of(ex);
+                }
+            });
+            if (denial.isPresent()) {
+                throw denial.get();
+            }
+
+            if (!Objects.equals(action, Action.CREATE)) {
+                var id = json.getString("id", null);
+                if (Objects.isNull(id)) {
+                    throw new ExplorerException("Invalid bulk item, an identifier is expected");
+                }
+                item.result.setId(id);
+                item.key = mapper.mapId(id);
+            }
+
+            if (!Objects.equals(action, Action.DELETE)) {
+                var data = json.get("data");
+                if (!(data instanceof JsonObject object)) {
+                    throw new ExplorerException("Invalid bulk item, data object is expected");
+                }
+                item.data = Jsons.parse(entry.getDataClass(), object);
+                Validations.validate(item.data, entry.getValidationGroups(action));
+            }
+
+            if (Objects.equals(action, Action.CREATE)) {
+                item.entity = mapper.toEntity(item.data);
+                item.key = this.dao.getPrimaryKey(item.entity);
+            }
+        } catch (ActionDeniedException ex) {
+            item.fail(BulkResult.FORBIDDEN, ex.getMessage());
+        } catch (RuntimeException ex) {
+            item.fail(BulkResult.BAD_REQUEST, ex.getMessage());
+        }
+        return item;
+    }
+
+    /**
+     * Apply a chunk of prepared items of a bulk request.
+     * The existing entities of the chunk are loaded with a single query,
+     * then the persistence context is flushed and cleared.
+     * If the flush violates a unique constraint, the applied items of the chunk are marked as conflicting,
+     * and the bulk request is cancelled.
+     *
+     * @param resolved Resolved entry point
+     * @param chunk    Prepared items
+     * @param bulkData Report of the bulk request, the results of the items are added in the same order
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @throws BulkConflictException If the flush violates a unique constraint
+     */
+    private <E, D, M extends EntityMapper<E, D>> void applyBulkChunk(
+            final ResolvedEntry<E, D, M, ?> resolved,
+            final List<BulkItem<E, D>> chunk,
+            final BulkData bulkData) {
+
+        var entityClass = resolved.getEntry().getEntityClass();
+        var mapper = resolved.getMapper();
+
+        var keys = new HashSet<>();
+        for (var i : chunk) {
+            if (!i.isFailed() && Objects.nonNull(i.key)) {
+                keys.add(i.key);
+            }
+        }
+        var entities = new HashMap<>(this.dao.findAll(entityClass, keys));
+
+        var results = new ArrayList<BulkResult>(chunk.size());
+        for (var i : chunk) {
+            if (!i.isFailed()) {
+                try {
+                    switch (i.result.getAction()) {
+                        case CREATE -> {
+                            if (Objects.nonNull(i.key) && entities.containsKey(i.key)) {
+                                i.fail(BulkResult.CONFLICT, "Entity already exist !");
+                            } else {
+                                var entity = this.dao.save(this.onCreate(i.entity));
+                                Object key = this.dao.getPrimaryKey(entity);
+                                entities.put(key, entity);
+                                i.result.setId(String.valueOf(key));
+                                i.result.setStatus(BulkResult.CREATED);
+                            }
+                        }
+                        case UPDATE -> {
+                            var entity = entities.get(i.key);
+                            if (Objects.isNull(entity)) {
+                                i.fail(BulkResult.NOT_FOUND, "Entity not exist !");
+                            } else {
+                                mapper.updateEntity(i.data, entity);
+                                this.onUpdate(entity);
+                                i.result.setStatus(BulkResult.NO_CONTENT);
+                            }
+                        }
+                        default -> {
+                            var entity = entities.remove(i.key);
+                            if (Objects.isNull(entity)) {
+                                i.fail(BulkResult.NOT_FOUND, "Entity not exist !");
+                            } else {
+                                this.dao.remove(this.onRemove(entity));
+                                i.result.setStatus(BulkResult.NO_CONTENT);
+                            }
+                        }
+                    }
+                } catch (ExplorerException ex) {
+                    i.fail(BulkResult.BAD_REQUEST, ex.getMessage());
+                }
+            }
+            results.add(i.result);
+        }
+
+        try {
+            this.dao.flush();
+        } catch (EntityExistsException ex) {
+            for (var i : chunk) {
+                if (!i.isFailed()) {
+                    i.fail(BulkResult.CONFLICT, "Unique constraint violation");
+                }
+            }
+            bulkData.addItems(results);
+            throw new BulkConflictException("Unique constraint violation, bulk request cancelled", bulkData, ex);
+        }
+        this.dao.clear();
+        bulkData.addItems(results);
+    }
+
     /**
      * Check if the current user can do an action.
      *
@@ -190,33 +811,133 @@ public abstract class AbstractExplorerService implements ExplorerService {
             final DynamicEntry<?, ?, ?, ?> entry,
             final Action action) {
 
-        var principal = this.securityContext.getCallerPrincipal();
-        var role = entry.getActions().getOrDefault(action, HappiSecurityManager.DENY_ALL);
+        this.checkAuthorization(this.explorerManager.lookup(entry.getPath()), action);
+    }
+
+    /**
+     * Check if the current user can do an action, with the compiled decision table of the entry point.
+     *
+     * @param resolved Resolved entry point
+     * @param action   business action
+     * @throws ActionDeniedException If the user is not authenticated or has not enough authorizations
+     */
+    protected void checkAuthorization(
+            final ResolvedEntry<?, ?, ?, ?> resolved,
+            final Action action) {
+
+        if (this.isSecured()) {
+            var path = resolved.getEntry().getPath();
+            var authorizations = resolved.getAuthorizations();
+            var decision = authorizations.getDecision(action);
+
+            if (Objects.equals(decision, AuthorizationMatrix.Decision.DENY_ALL)) {
+                throw new ActionDeniedException(path, action, "Unauthorized operation");
+            } else if (!Objects.equals(decision, AuthorizationMatrix.Decision.PUBLIC)
+                    && Objects.isNull(this.securityContext.getCallerPrincipal())) {
+
+                throw new ActionDeniedException(path, action, "User not authenticate");
+            } else if (Objects.equals(decision, AuthorizationMatrix.Decision.PUBLIC)
+                    && Objects.nonNull(this.securityContext.getCallerPrincipal())
+                    && !this.securityContext.isCallerInRole(HappiSecurityManager.PUBLIC)) {
 
-        var isSecured = this.isSecured();
-        var authAccess = Objects.nonNull(principal);
-        var publicAccess = Objects.equals(role, HappiSecurityManager.PUBLIC);
-        var permitAccess = Objects.equals(role, HappiSecurityManager.PERMIT_ALL);
-        var denyAccess = Objects.equals(role, HappiSecurityManager.DENY_ALL);
-        var roleAccess = this.securityContext.isCallerInRole(role);
+                throw new ActionDeniedException(path, action, "Insufficient authorization");
+            } else if (Objects.equals(decision, AuthorizationMatrix.Decision.ROLE)
+                    && !this.isCallerInRole(authorizations, action)) {
 
-        if (isSecured) {
-            if (denyAccess) {
-                throw new ActionDeniedException(entry.getPath(), action, "Unauthorized operation");
-            } else if (!authAccess && !publicAccess) {
-                throw new ActionDeniedException(entry.getPath(), action, "User not authenticate");
-            } else if (authAccess && !permitAccess && !roleAccess) {
-                throw new ActionDeniedException(entry.getPath(), action, "Insufficient authorization");
+                throw new ActionDeniedException(path, action, "Insufficient authorization");
             }
         }
 
         // Authorization granted:
-        // with role @Public
+        // anonymous user with role @Public
         // OR
         // authenticate user with role @PermitAll
         // OR
         // authenticate user with in a role
+    }
+
+    /**
+     * Check if the current user is in the role of an action.
+     * A group of the caller with the name of the role grants it, with the role set computed at the authentication.
+     * Otherwise the security context is asked, the server can map other groups to the role.
+     *
+     * @param authorizations Compiled decision table of the entry point
+     * @param action         business action with a role
+     * @return The value {@code true} if the user is in the role, otherwise the value {@code false} is returned
+     */
+    private boolean isCallerInRole(final AuthorizationMatrix authorizations, final Action action) {
+        var index = authorizations.getRoleIndex(action);
+        var attribute = this.getRequestAttribute(CallerRoles.ATTRIBUTE);
+
+        boolean inRole;
+        if (attribute instanceof CallerRoles callerRoles && callerRoles.isKnown(index) && callerRoles.contains(index)) {
+            inRole = true;
+        } else {
+            inRole = this.securityContext.isCallerInRole(authorizations.getRole(action));
+        }
+        return inRole;
+    }
+
+    /**
+     * Get an attribute of the current request.
+     *
+     * @param name Attribute name
+     * @return The attribute value, {@code null} if absent or outside a request
+     */
+    private Object getRequestAttribute(final String name) {
+        Object attribute;
+        try {
+            if (this.request.isResolvable()) {
+                attribute = this.request.get().getAttribute(name);
+            } else {
+                attribute = null;
+            }
+        } catch (ContextNotActiveException ex) {
+            attribute = null;
+        }
+        return attribute;
+    }
+
+    /**
+     * Invalidate the result caches of all entry points of an entity class, or of an entity associated with it.
+     * Caches are invalidated immediately, and again after the completion of the current transaction,
+     * so that a result read before the commit is not kept.
+     *
+     * @param entityClass Entity class
+     */
+    protected void invalidateResultCaches(final Class<?> entityClass) {
+        Runnable invalidation = () -> this.explorerManager
+                .resolvedEntries()
+                .stream()
+                .filter(r -> r.dependsOn(entityClass))
+                .map(ResolvedEntry::getResultCache)
+                .flatMap(Optional::stream)
+                .forEach(ResultCache::invalidate);
+
+        invalidation.run();
+        Transactions.afterCompletion(invalidation);
+    }
+
+    /**
+     * Parse the action of a bulk item.
+     *
+     * @param document <i>JSON</i> document of the item
+     * @return The action, {@link Action#CREATE}, {@link Action#UPDATE} or {@link Action#DELETE}
+     * @throws ExplorerException If the action is missing or not allowed in a bulk request
+     */
+    private static Action parseBulkAction(final JsonObject document) {
+        var value = document.getString("action", "");
+        Action action;
+        try {
+            action = Action.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            action = null;
+        }
 
+        if (Objects.isNull(action) || Objects.equals(action, Action.FILTER) || Objects.equals(action, Action.FIND)) {
+            throw new ExplorerException("Invalid bulk action : " + value);
+        }
+        return action;
     }
 
     /**
@@ -225,10 +946,142 @@ public abstract class AbstractExplorerService implements ExplorerService {
      * @return The value {@code true} if security is enabled, otherwise the value {@code false} is returned
      */
     private boolean isSecured() {
-        var secured = this.securityManager
-                .getConfiguration(HappiSecurityManager.Configuration.JAKARTA_SECURITY);
+        return this.securityManager.getConfiguration().isJakartaSecurity();
+    }
 
-        return Objects.equals(Boolean.parseBoolean(secured), Boolean.TRUE);
+    /**
+     * Item of a bulk request, prepared before accessing the database.
+     *
+     * @param <E> Type of persistent entity
+     * @param <D> Type of data transfer object
+     */
+    private static final class BulkItem<E, D> {
+
+        /**
+         * Result of the item.
+         */
+        private final BulkResult result;
+
+        /**
+         * Unique identifier of the entity, {@code null} if unknown.
+         */
+        private Object key;
+
+        /**
+         * Data transfer object, {@code null} for a deletion.
+         */
+        private D data;
+
+        /**
+         * New entity, only for a creation.
+         */
+        private E entity;
+
+        /**
+         * Construct an item.
+         *
+         * @param index Position of the item in the request
+         */
+        private BulkItem(final long index) {
+            this.result = new BulkResult();
+            this.result.setIndex(index);
+        }
+
+        /**
+         * Mark the item as failed.
+         *
+         * @param status  Status of the item
+         * @param message Error message
+         */
+        private void fail(final int status, final String message) {
+            this.result.setStatus(status);
+            this.result.setMessage(message);
+        }
+
+        /**
+         * Check if the item has failed.
+         *
+         * @return The value {@code true} if the item has failed, otherwise {@code false} is returned
+         */
+        private boolean isFailed() {
+            return this.result.getStatus() >= BulkResult.BAD_REQUEST;
+        }
     }
-}
 
+    /**
+     * Data transfer object found with the version of its entity.
+     *
+     * @param <D> Type of data transfer object
+     */
+    private static final class VersionedData<D> {
+
+        /**
+         * Data transfer object.
+         */
+        private final D data;
+
+        /**
+         * Version of the entity, {@code null} if the entity has no version.
+         */
+        private final String version;
+
+        /**
+         * Construct a data transfer object with its version.
+         *
+         * @param data    Data transfer object
+         * @param version Version of the entity, {@code null} if the entity has no version
+         */
+        private VersionedData(final D data, final String version) {
+            this.data = data;
+            this.version = version;
+        }
+
+        // Getters...
+
+        private D getData() {
+            return data;
+        }
+
+        private Optional<String> getVersion() {
+            return Optional.ofNullable(version);
+        }
+    }
+
+    /**
+     * Reader of the elements of a page.
+     *
+     * @param <R> Type of page element
+     */
+    @FunctionalInterface
+    private interface PageReader<R> {
+
+        /**
+         * Read the elements of the requested page.
+         *
+         * @param lookahead Number of additional elements after the page
+         * @return The elements of the page
+         */
+        List<R> find(int lookahead);
+
+        /**
+         * Read the elements after the cursor, with the keyset pagination.
+         * By default, the keyset pagination is not supported.
+         *
+         * @return The elements of the page, with one more element if a next page exists
+         * @throws ExplorerException If the keyset pagination is not supported
+         */
+        default List<R> seek() {
+            throw new ExplorerException("Invalid cursor query, keyset pagination not supported with this query");
+        }
+
+        /**
+         * Encode the cursor of the last element of a page.
+         *
+         * @param last Last element of a page
+         * @return An opaque cursor
+         */
+        default String cursor(R last) {
+            throw new ExplorerException("Invalid cursor query, keyset pagination not supported with this query");
+        }
+    }
+}
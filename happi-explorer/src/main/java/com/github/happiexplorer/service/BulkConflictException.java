@@ -0,0 +1,39 @@
+package com.github.happiexplorer.service;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a chunk of a bulk request violates a unique constraint in the database.
+ * The whole bulk request is cancelled, the report contains the results of the items applied before the conflict.
+ */
+public class BulkConflictException extends EntityConflictException {
+
+    /**
+     * Serial number.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Report of the bulk request, up to the conflicting chunk.
+     */
+    private final transient BulkData bulkData;
+
+    /**
+     * Construct an exception.
+     *
+     * @param message  Specific message can be visible by the client
+     * @param bulkData Report of the bulk request, up to the conflicting chunk
+     * @param cause    Technical cause
+     */
+    public BulkConflictException(final String message, final BulkData bulkData, final Throwable cause) {
+        super(message, cause);
+        this.bulkData = bulkData;
+    }
+
+    // Getters...
+
+    public BulkData getBulkData() {
+        return bulkData;
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.happiexplorer.service;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbPropertyOrder;
+import jakarta.json.bind.config.PropertyOrderStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Report of a bulk request, with a result per item in the order of the request.
+ */
+@JsonbPropertyOrder(PropertyOrderStrategy.LEXICOGRAPHICAL)
+public final class BulkData {
+
+    /**
+     * Result of each item.
+     */
+    @JsonbProperty("items")
+    private final List<BulkResult> items;
+
+    /**
+     * Number of items.
+     */
+    @JsonbProperty("size")
+    private long size;
+
+    /**
+     * Number of failed items.
+     */
+    @JsonbProperty("failures")
+    private long failures;
+
+    /**
+     * Default constructor.
+     */
+    public BulkData() {
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * Add the results of items.
+     *
+     * @param results Results of items
+     */
+    public void addItems(final List<BulkResult> results) {
+        for (var r : results) {
+            this.items.add(r);
+            this.size++;
+            if (r.getStatus() >= BulkResult.BAD_REQUEST) {
+                this.failures++;
+            }
+        }
+    }
+
+    // Getters...
+
+    public List<BulkResult> getItems() {
+        return List.copyOf(items);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+}
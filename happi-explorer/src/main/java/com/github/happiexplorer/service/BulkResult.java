@@ -0,0 +1,123 @@
+package com.github.happiexplorer.service;
+
+import com.github.happiexplorer.Action;
+import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbPropertyOrder;
+import jakarta.json.bind.config.PropertyOrderStrategy;
+
+/**
+ * Result of an item of a bulk request.
+ * The status is the <i>HTTP</i> status the item would have had as a single request.
+ */
+@JsonbPropertyOrder(PropertyOrderStrategy.LEXICOGRAPHICAL)
+public final class BulkResult {
+
+    /**
+     * Status of a created entity.
+     */
+    public static final int CREATED = 201;
+
+    /**
+     * Status of an updated or deleted entity.
+     */
+    public static final int NO_CONTENT = 204;
+
+    /**
+     * Status of an invalid item.
+     */
+    public static final int BAD_REQUEST = 400;
+
+    /**
+     * Status of an item denied to the user.
+     */
+    public static final int FORBIDDEN = 403;
+
+    /**
+     * Status of an item on a missing entity.
+     */
+    public static final int NOT_FOUND = 404;
+
+    /**
+     * Status of a creation on an existing entity.
+     */
+    public static final int CONFLICT = 409;
+
+    /**
+     * Position of the item in the request, from zero.
+     */
+    @JsonbProperty("index")
+    private long index;
+
+    /**
+     * Action of the item, {@code null} if the item is invalid.
+     */
+    @JsonbProperty("action")
+    private Action action;
+
+    /**
+     * Unique identifier of the entity, {@code null} if unknown.
+     */
+    @JsonbProperty("id")
+    private String id;
+
+    /**
+     * Status of the item.
+     */
+    @JsonbProperty("status")
+    private int status;
+
+    /**
+     * Error message, {@code null} if the item succeeded.
+     */
+    @JsonbProperty("message")
+    private String message;
+
+    /**
+     * Default constructor.
+     */
+    public BulkResult() {
+        // NO-OP
+    }
+
+    // Getters & Setters...
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
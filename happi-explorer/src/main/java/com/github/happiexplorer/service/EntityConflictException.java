@@ -0,0 +1,26 @@
+package com.github.happiexplorer.service;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when an entity cannot be created because it conflicts with an existing entity,
+ * on the primary key or a unique constraint.
+ */
+public class EntityConflictException extends ServiceExplorerException {
+
+    /**
+     * Serial number.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct an exception.
+     *
+     * @param message Specific message can be visible by the client
+     * @param cause   Technical cause
+     */
+    public EntityConflictException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
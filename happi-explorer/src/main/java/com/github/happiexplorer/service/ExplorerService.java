@@ -1,15 +1,22 @@
 package com.github.happiexplorer.service;
 
 import com.github.happiexplorer.EntityMapper;
+import com.github.happiexplorer.Jsons;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Main contract service for this module.
@@ -95,6 +102,67 @@ public interface ExplorerService {
      */
     <E, D, M extends EntityMapper<E, D>> PaginationData<D> filter(String name, Map<String, List<String>> parameters);
 
+    /**
+     * Filter some attributes of entities, with the query parameter {@code select}.
+     * Only the selected attributes are read from the database, the mapper is not used.
+     * By default, a selection is not supported.
+     *
+     * @param name       Web entity name
+     * @param parameters Web query parameters, with a select query
+     * @param <E>        Type of persistent entity
+     * @param <D>        Type of data transfer object
+     * @param <M>        Type of mapper
+     * @return A pagination object with the selected attributes values by name
+     */
+    default <E, D, M extends EntityMapper<E, D>> PaginationData<Map<String, Object>> select(
+            String name,
+            Map<String, List<String>> parameters) {
+
+        throw new ServiceExplorerException("Selection not supported");
+    }
+
+    /**
+     * Check an export before streaming it.
+     * The entry point is resolved, the caller is authorized and the web queries are parsed and checked,
+     * so that an error is answered with its status before the response is committed.
+     * By default, an export is not supported.
+     *
+     * @param name       Web entity name
+     * @param parameters Web query parameters, page parameters are ignored
+     * @param <E>        Type of persistent entity
+     * @param <D>        Type of data transfer object
+     * @param <M>        Type of mapper
+     */
+    default <E, D, M extends EntityMapper<E, D>> void checkExport(
+            String name,
+            Map<String, List<String>> parameters) {
+
+        throw new ServiceExplorerException("Export not supported");
+    }
+
+    /**
+     * Export all data filtered, without pagination and without count.
+     * Each data transfer object is given to the consumer as soon as it is read,
+     * the whole result is never in memory.
+     * The export runs in the transaction of the service, bounded by the transaction timeout of the server.
+     * By default, an export is not supported.
+     *
+     * @param name       Web entity name
+     * @param parameters Web query parameters, page parameters are ignored
+     * @param consumer   Function receiving each data transfer object, in the sort order
+     * @param <E>        Type of persistent entity
+     * @param <D>        Type of data transfer object
+     * @param <M>        Type of mapper
+     * @return The number of data transfer objects exported
+     */
+    default <E, D, M extends EntityMapper<E, D>> long export(
+            String name,
+            Map<String, List<String>> parameters,
+            Consumer<D> consumer) {
+
+        throw new ServiceExplorerException("Export not supported");
+    }
+
     /**
      * Find a unique resource.
      *
@@ -107,6 +175,37 @@ public interface ExplorerService {
      */
     <E, D, M extends EntityMapper<E, D>> Optional<D> find(String name, String id);
 
+    /**
+     * Find a unique resource with its version, read from the loaded entity.
+     * By default, the version is unknown.
+     *
+     * @param name    Web entity name
+     * @param id      Unique identifier of entity
+     * @param version Function receiving the version, only if the resource exists and has a version
+     * @param <E>     Type of persistent entity
+     * @param <D>     Type of data transfer object
+     * @param <M>     Type of mapper
+     * @return An option that contains or not tha data
+     */
+    default <E, D, M extends EntityMapper<E, D>> Optional<D> find(String name, String id, Consumer<String> version) {
+        return this.<E, D, M>find(name, id);
+    }
+
+    /**
+     * Find the version of a unique resource, without loading it.
+     * Useful for a conditional request, by default the version is unknown.
+     *
+     * @param name Web entity name
+     * @param id   Unique identifier of entity
+     * @param <E>  Type of persistent entity
+     * @param <D>  Type of data transfer object
+     * @param <M>  Type of mapper
+     * @return An option of version, empty if the resource does not exist or has no version
+     */
+    default <E, D, M extends EntityMapper<E, D>> Optional<String> version(String name, String id) {
+        return Optional.empty();
+    }
+
     /**
      * Create a new entity.
      *
@@ -120,6 +219,23 @@ public interface ExplorerService {
      */
     <E, D, M extends EntityMapper<E, D>, K> K create(String name, JsonObject document);
 
+    /**
+     * Create a new entity from a <i>JSON</i> stream.
+     * By default, the stream is read as a <i>JSON</i> object,
+     * an implementation should bind it directly to the data transfer object.
+     *
+     * @param name     Web entity name
+     * @param document <i>JSON</i> stream of the new entity
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @param <K>      Type of unique identifier
+     * @return The unique identifier of the new resource
+     */
+    default <E, D, M extends EntityMapper<E, D>, K> K create(String name, InputStream document) {
+        return this.<E, D, M, K>create(name, Jsons.parse(document));
+    }
+
     /**
      * Update an existing entity.
      *
@@ -132,6 +248,49 @@ public interface ExplorerService {
      */
     <E, D, M extends EntityMapper<E, D>> void update(String name, JsonObject document, String id);
 
+    /**
+     * Update an existing entity from a <i>JSON</i> stream.
+     * By default, the stream is read as a <i>JSON</i> object,
+     * an implementation should bind it directly to the data transfer object.
+     *
+     * @param name     Web entity name
+     * @param document <i>JSON</i> stream of the existing entity
+     * @param id       Unique identifier
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     */
+    default <E, D, M extends EntityMapper<E, D>> void update(String name, InputStream document, String id) {
+        this.<E, D, M>update(name, Jsons.parse(document), id);
+    }
+
+    /**
+     * Update an existing entity only if its current version is one of the expected versions.
+     * By default, a conditional update is not supported.
+     *
+     * @param name     Web entity name
+     * @param document <i>JSON</i> stream of the existing entity
+     * @param id       Unique identifier
+     * @param versions Expected versions, or {@code null} for an unconditional update
+     * @param <E>      Type of persistent entity
+     * @param <D>      Type of data transfer object
+     * @param <M>      Type of mapper
+     * @return An option of the new version, empty if the entity has no version
+     * @throws VersionConflictException If the current version is not an expected version
+     */
+    default <E, D, M extends EntityMapper<E, D>> Optional<String> update(
+            String name,
+            InputStream document,
+            String id,
+            Set<String> versions) {
+
+        if (Objects.nonNull(versions)) {
+            throw new ServiceExplorerException("Conditional update not supported");
+        }
+        this.<E, D, M>update(name, document, id);
+        return Optional.empty();
+    }
+
     /**
      * Delete an existing entity.
      *
@@ -143,6 +302,23 @@ public interface ExplorerService {
      */
     <E, D, M extends EntityMapper<E, D>> void delete(String name, String id);
 
+    /**
+     * Create, update or delete many entities in a single request.
+     * Each item is a <i>JSON</i> object with an {@code action}, an {@code id} except for a creation,
+     * and the {@code data} of the entity except for a deletion.
+     * By default, a bulk request is not supported.
+     *
+     * @param name      Web entity name
+     * @param documents Lazy stream of items
+     * @param <E>       Type of persistent entity
+     * @param <D>       Type of data transfer object
+     * @param <M>       Type of mapper
+     * @return The report with the result of each item
+     */
+    default <E, D, M extends EntityMapper<E, D>> BulkData bulk(String name, Stream<JsonValue> documents) {
+        throw new ServiceExplorerException("Bulk not supported");
+    }
+
     /**
      * Check if the unique identifier is associated with an entity.
      *
@@ -0,0 +1,174 @@
+package com.github.happiexplorer.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In memory result cache, bounded by size and time to live.
+ * The least recently used result is evicted above the maximum size.
+ */
+public final class LocalResultCache implements ResultCache {
+
+    /**
+     * Maximum number of results.
+     */
+    private final int maximumSize;
+
+    /**
+     * Time to live of a result, in nanoseconds.
+     */
+    private final long timeToLive;
+
+    /**
+     * Cached results by key, in access order.
+     */
+    private final Map<Object, Entry> results;
+
+    /**
+     * Number of results found.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of results not found.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Internal constructor.
+     * Use the factory method {@link #of(int, Duration)}.
+     *
+     * @param maximumSize Maximum number of results
+     * @param timeToLive  Time to live of a result
+     */
+    private LocalResultCache(final int maximumSize, final Duration timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive.toNanos();
+        this.results = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Entry> eldest) {
+                return this.size() > LocalResultCache.this.maximumSize;
+            }
+        };
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Create an in memory result cache.
+     *
+     * @param maximumSize Maximum number of results
+     * @param timeToLive  Time to live of a result
+     * @return A new cache
+     */
+    public static LocalResultCache of(final int maximumSize, final Duration timeToLive) {
+        return new LocalResultCache(maximumSize, timeToLive);
+    }
+
+    @Override
+    public <T> Optional<T> get(final Object key) {
+        Entry entry;
+        synchronized (this.results) {
+            entry = this.results.get(key);
+            if (Objects.nonNull(entry) && entry.isExpired()) {
+                this.results.remove(key);
+                entry = null;
+            }
+        }
+
+        if (Objects.isNull(entry)) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return Optional.ofNullable(entry).map(e -> (T) e.value);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        var expiresAt = System.nanoTime() + this.timeToLive;
+        synchronized (this.results) {
+            this.results.put(key, new Entry(value, expiresAt));
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        synchronized (this.results) {
+            this.results.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (this.results) {
+            return this.results.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(this.getClass().getSimpleName())
+                .append("{maximumSize=").append(maximumSize)
+                .append(", timeToLive=").append(Duration.ofNanos(timeToLive))
+                .append(", hits=").append(hits)
+                .append(", misses=").append(misses)
+                .append('}').toString();
+    }
+
+    // Getters...
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Cached result with its expiration time.
+     */
+    private static final class Entry {
+
+        /**
+         * Cached result.
+         */
+        private final Object value;
+
+        /**
+         * Expiration time, from {@link System#nanoTime()}.
+         */
+        private final long expiresAt;
+
+        /**
+         * Construct a cached result.
+         *
+         * @param value     Cached result
+         * @param expiresAt Expiration time
+         */
+        private Entry(final Object value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Check if this result is expired.
+         *
+         * @return The value {@code true} if expired, otherwise the value {@code false} is returned
+         */
+        private boolean isExpired() {
+            return System.nanoTime() - this.expiresAt >= 0L;
+        }
+    }
+}
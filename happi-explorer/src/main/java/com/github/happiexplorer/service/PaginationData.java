@@ -4,7 +4,7 @@ import jakarta.json.bind.annotation.JsonbProperty;
 import jakarta.json.bind.annotation.JsonbPropertyOrder;
 import jakarta.json.bind.config.PropertyOrderStrategy;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -27,6 +27,19 @@ public final class PaginationData<T> {
     @JsonbProperty("size")
     private long size;
 
+    /**
+     * Indicate if the total number of element is exact.
+     * Otherwise, the size is a lower bound.
+     */
+    @JsonbProperty("sizeExact")
+    private boolean sizeExact;
+
+    /**
+     * Indicate if there are elements after this page.
+     */
+    @JsonbProperty("hasMore")
+    private boolean hasMore;
+
     /**
      * Page size.
      */
@@ -45,22 +58,39 @@ public final class PaginationData<T> {
     @JsonbProperty("pageCount")
     private long pageCount;
 
+    /**
+     * Cursor of the next page, only with the keyset pagination.
+     * The value {@code null} if there is no next page.
+     */
+    @JsonbProperty("next")
+    private String next;
+
     /**
      * Default constructor.
      */
     public PaginationData() {
-        this.data = new ArrayList<>();
+        this.data = List.of();
     }
 
     // Getters and setters...
 
+    /**
+     * Get the data, without copy.
+     *
+     * @return An unmodifiable view of the data
+     */
     public List<T> getData() {
-        return List.copyOf(data);
+        return data;
     }
 
+    /**
+     * Set the data, without copy.
+     * The list must not be modified after, it is shared with the cached results.
+     *
+     * @param data Data
+     */
     public void setData(List<T> data) {
-        this.data.clear();
-        this.data.addAll(data);
+        this.data = Collections.unmodifiableList(data);
     }
 
     // Getters & Setters...
@@ -73,6 +103,22 @@ public final class PaginationData<T> {
         this.size = size;
     }
 
+    public boolean isSizeExact() {
+        return sizeExact;
+    }
+
+    public void setSizeExact(boolean sizeExact) {
+        this.sizeExact = sizeExact;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
     public long getPageSize() {
         return pageSize;
     }
@@ -96,4 +142,12 @@ public final class PaginationData<T> {
     public void setPageCount(long pageCount) {
         this.pageCount = pageCount;
     }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
 }
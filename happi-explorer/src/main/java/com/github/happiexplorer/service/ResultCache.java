@@ -0,0 +1,56 @@
+package com.github.happiexplorer.service;
+
+import java.util.Optional;
+
+/**
+ * Cache of read results for an entry point, used by {@link AbstractExplorerService}.
+ * Keys are built from the action and the normalized web queries or the unique identifier.
+ * All results of an entry point are invalidated when an entity of the same class,
+ * or of the class of one of its associations, is created, updated or deleted.
+ * Cached results are shared between requests, they must not be modified.
+ */
+public interface ResultCache {
+
+    /**
+     * Get a cached result.
+     *
+     * @param key Result key
+     * @param <T> Type of result
+     * @return An option of cached result, empty if absent or expired
+     */
+    <T> Optional<T> get(Object key);
+
+    /**
+     * Put a result in the cache.
+     *
+     * @param key   Result key
+     * @param value Result, not {@code null}
+     */
+    void put(Object key, Object value);
+
+    /**
+     * Remove all cached results.
+     */
+    void invalidate();
+
+    /**
+     * Get the number of cached results.
+     *
+     * @return The number of cached results
+     */
+    int size();
+
+    /**
+     * Get the number of results found in the cache.
+     *
+     * @return The number of hits
+     */
+    long getHits();
+
+    /**
+     * Get the number of results not found in the cache.
+     *
+     * @return The number of misses
+     */
+    long getMisses();
+}
@@ -23,4 +23,14 @@ public class ServiceExplorerException extends ExplorerException {
     public ServiceExplorerException(final String message) {
         super(message);
     }
+
+    /**
+     * Construct an exception.
+     *
+     * @param message Specific message can be visible by the client
+     * @param cause   Technical cause
+     */
+    public ServiceExplorerException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
 }
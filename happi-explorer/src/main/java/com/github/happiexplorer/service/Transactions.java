@@ -0,0 +1,99 @@
+package com.github.happiexplorer.service;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Utility for the current <i>JTA</i> transaction, if the server provides it.
+ */
+final class Transactions {
+
+    /**
+     * Standard <i>JNDI</i> name of the transaction synchronization registry.
+     */
+    private static final String REGISTRY_NAME = "java:comp/TransactionSynchronizationRegistry";
+
+    /**
+     * Transaction synchronization registry, resolved on first use.
+     */
+    private static volatile Optional<TransactionSynchronizationRegistry> registry;
+
+    /**
+     * Internal constructor.
+     * Instance does not allow.
+     */
+    private Transactions() {
+        throw new UnsupportedOperationException("Instance not allowed");
+    }
+
+    /**
+     * Run an action after the completion of the current transaction.
+     * Without an active transaction, the action is not run.
+     *
+     * @param action Action to run after commit or rollback
+     * @return The value {@code true} if the action is registered, otherwise the value {@code false} is returned
+     */
+    static boolean afterCompletion(final Runnable action) {
+        var current = getRegistry();
+        var registered = current.isPresent()
+                && Objects.equals(current.get().getTransactionStatus(), Status.STATUS_ACTIVE);
+
+        if (registered) {
+            current.get().registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // NO-OP
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    action.run();
+                }
+            });
+        }
+        return registered;
+    }
+
+    /**
+     * Get the transaction synchronization registry, resolved on first use.
+     *
+     * @return An option of registry, empty if the server does not provide it
+     */
+    private static Optional<TransactionSynchronizationRegistry> getRegistry() {
+        var current = registry;
+        if (Objects.isNull(current)) {
+            synchronized (Transactions.class) {
+                current = registry;
+                if (Objects.isNull(current)) {
+                    current = lookupRegistry();
+                    registry = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Find the transaction synchronization registry of the server.
+     *
+     * @return An option of registry, empty if the server does not provide it
+     */
+    private static Optional<TransactionSynchronizationRegistry> lookupRegistry() {
+        Optional<TransactionSynchronizationRegistry> synchronizationRegistry;
+        try {
+            var lookup = new InitialContext().lookup(REGISTRY_NAME);
+            synchronizationRegistry = Optional.ofNullable(lookup)
+                    .filter(TransactionSynchronizationRegistry.class::isInstance)
+                    .map(TransactionSynchronizationRegistry.class::cast);
+        } catch (NamingException ex) {
+            synchronizationRegistry = Optional.empty();
+        }
+        return synchronizationRegistry;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.happiexplorer.service;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the expected version of an entity is not the current version.
+ */
+public class VersionConflictException extends ServiceExplorerException {
+
+    /**
+     * Serial number.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct an exception.
+     *
+     * @param message Specific message can be visible by the client
+     */
+    public VersionConflictException(final String message) {
+        super(message);
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.github.happiexplorer.junit.util.TokenGenerator;
@@ -15,9 +16,11 @@ import jakarta.json.bind.JsonbBuilder;
 
 import com.github.happiexplorer.junit.scenario.model.Scenario;
 import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
 import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
 import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.TestReporter;
 import org.junit.jupiter.params.provider.Arguments;
@@ -27,6 +30,11 @@ import org.junit.jupiter.params.provider.Arguments;
  */
 public final class Scenarios {
 
+    /**
+     * Content type of a response with a JSON document per line.
+     */
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     /**
      * A map for pattern matching in the body of the response.
      */
@@ -156,7 +164,7 @@ public final class Scenarios {
      */
     private static void appendQueries(final RequestSpecification query, final Scenario scenario) {
         if (Objects.nonNull(scenario.getQueryParameters())) {
-            for (var h : scenario.getPathParameters()) {
+            for (var h : scenario.getQueryParameters()) {
                 query.queryParam(h.getName(), h.getValue());
             }
         }
@@ -210,6 +218,7 @@ public final class Scenarios {
 
     /**
      * Validate a response with JUnit assertions.
+     * A response with a JSON document per line is matched as a JSON array of the lines.
      *
      * @param response A response for JUnit assertions
      * @param scenario Scenario data
@@ -221,11 +230,22 @@ public final class Scenarios {
                 .statusCode(scenario.getStatusCode());
 
         if (Objects.nonNull(scenario.getMatchers())) {
+            var contentType = Objects.requireNonNullElse(validationResponse.extract().contentType(), "");
+            JsonPath lines;
+            if (contentType.startsWith(APPLICATION_NDJSON)) {
+                lines = readLines(validationResponse.extract().asString());
+            } else {
+                lines = null;
+            }
+
             for (var m : scenario.getMatchers()) {
 
                 var matcherProvider = MATCHERS.get(m.getOperator());
                 if (Objects.isNull(matcherProvider)) {
                     throw new IllegalArgumentException("Unknown operator : " + m.getOperator());
+                } else if (Objects.nonNull(lines)) {
+                    var matcher = (Matcher<Object>) matcherProvider.apply(m.getValue());
+                    MatcherAssert.assertThat(m.getJsonPath(), lines.get(m.getJsonPath()), matcher);
                 } else {
                     var matcher = matcherProvider.apply(m.getValue());
                     validationResponse.body(m.getJsonPath(), matcher);
@@ -234,4 +254,19 @@ public final class Scenarios {
         }
     }
 
+    /**
+     * Read a body with a JSON document per line as a JSON array.
+     *
+     * @param body Body of the response
+     * @return A JSON path on the array of lines
+     */
+    private static JsonPath readLines(final String body) {
+        var array = body
+                .lines()
+                .filter(l -> !l.isBlank())
+                .collect(Collectors.joining(",", "[", "]"));
+
+        return JsonPath.from(array);
+    }
+
 }
@@ -5,13 +5,13 @@ import java.io.StringWriter;
 import java.util.Objects;
 
 import jakarta.json.Json;
-import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
 import jakarta.json.bind.adapter.JsonbAdapter;
 
 /**
- * JSON adapter for type {@link String}.
+ * JSON adapter for type {@link String}, from a JSON object or a JSON array.
  */
-public class StringJsonbAdapter implements JsonbAdapter<String, JsonObject> {
+public class StringJsonbAdapter implements JsonbAdapter<String, JsonStructure> {
 
     /**
      * Default constructor.
@@ -22,12 +22,12 @@ public class StringJsonbAdapter implements JsonbAdapter<String, JsonObject> {
     }
 
     @Override
-    public JsonObject adaptToJson(final String data) {
-        JsonObject object;
+    public JsonStructure adaptToJson(final String data) {
+        JsonStructure object;
         if (Objects.nonNull(data)) {
             var reader = new StringReader(data);
             try (var jsonReader = Json.createReader(reader)) {
-                object = jsonReader.readObject();
+                object = jsonReader.read();
             }
         } else {
             object = null;
@@ -36,12 +36,12 @@ public class StringJsonbAdapter implements JsonbAdapter<String, JsonObject> {
     }
 
     @Override
-    public String adaptFromJson(final JsonObject data) {
+    public String adaptFromJson(final JsonStructure data) {
         String text;
         if (Objects.nonNull(data)) {
             var stringWriter = new StringWriter();
             try (var jsonWriter = Json.createWriter(stringWriter)) {
-                jsonWriter.writeObject(data);
+                jsonWriter.write(data);
                 text = stringWriter.toString();
             }
         } else {